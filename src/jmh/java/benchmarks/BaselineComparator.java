@@ -0,0 +1,258 @@
+package benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.TypeToken;
+
+/**
+ * Compares a JMH JSON result file with the stored baseline summary and reports regressions.
+ *
+ * <p>A benchmark regresses when its throughput drops, or its median sampled latency or normalized
+ * allocation rate ({@code gc.alloc.rate.norm}) grows, by more than the tolerance and the 99.9%
+ * confidence intervals of the baseline and current scores do not overlap. Scores without an error
+ * estimate, e.g. from a single iteration, never count as regressions. The median is used for
+ * latency because sampled means are dominated by GC and scheduling outliers; its error is the
+ * error of the sampled mean scaled to the median. Allocation changes below {@value
+ * #MIN_ALLOCATION_DELTA} bytes per operation are ignored. Run by the {@code benchmark} Maven
+ * profile after JMH.
+ *
+ * <p>The baseline only keeps the score, error and unit of each compared metric, together with
+ * the fork and iteration counts it was measured with, so it stays small and machine-neutral.
+ *
+ * <h3>System properties:</h3>
+ *
+ * <ul>
+ *   <li>{@code benchmark.tolerance} - allowed relative change, default {@code 0.3}
+ *   <li>{@code benchmark.failOnRegression} - exit with an error on regression, default false
+ *   <li>{@code benchmark.updateBaseline} - replace the baseline with a summary of the current
+ *       result
+ * </ul>
+ */
+public class BaselineComparator {
+
+  private static final Logger logger = LogManager.getLogger(BaselineComparator.class);
+
+  private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+  /** Smallest allocation change in bytes per operation that can count as a regression */
+  private static final double MIN_ALLOCATION_DELTA = 16;
+
+  /**
+   * Entry point.
+   *
+   * @param args result file path and baseline file path
+   * @throws IOException if a file cannot be read or written
+   */
+  public static void main(String[] args) throws IOException {
+    Path resultFile = Paths.get(args[0]);
+    Path baselineFile = Paths.get(args[1]);
+    double tolerance = Double.parseDouble(System.getProperty("benchmark.tolerance", "0.3"));
+    boolean failOnRegression =
+        Boolean.parseBoolean(System.getProperty("benchmark.failOnRegression", "false"));
+
+    List<Map<String, Object>> results = readResults(resultFile);
+    Map<String, Metric> current = readMetrics(results);
+    if (Boolean.getBoolean("benchmark.updateBaseline") || !Files.exists(baselineFile)) {
+      // Keep the metrics of benchmarks excluded from this run
+      Map<String, Metric> updated =
+          Files.exists(baselineFile) ? readBaseline(baselineFile) : new LinkedHashMap<>();
+      updated.putAll(current);
+      writeBaseline(baselineFile, results, updated);
+      logger.info("Benchmark baseline written to {}", baselineFile);
+      return;
+    }
+
+    Map<String, Metric> baseline = readBaseline(baselineFile);
+    int regressions = 0;
+    for (Map.Entry<String, Metric> entry : current.entrySet()) {
+      Metric before = baseline.get(entry.getKey());
+      if (before == null || before.score() == 0) {
+        continue;
+      }
+      Metric after = entry.getValue();
+      double change = (after.score() - before.score()) / before.score();
+      boolean regressed =
+          after.higherIsBetter()
+              ? change < -tolerance && after.upper() < before.lower()
+              : change > tolerance && after.lower() > before.upper();
+      if (entry.getKey().endsWith(ALLOCATION_METRIC + "]")) {
+        regressed &= after.score() - before.score() >= MIN_ALLOCATION_DELTA;
+      }
+      String line =
+          String.format(
+              "%-70s %12.3f +/- %-10.3f -> %12.3f +/- %-10.3f %-10s (%+.1f%%)",
+              entry.getKey(),
+              before.score(),
+              before.error(),
+              after.score(),
+              after.error(),
+              after.unit(),
+              change * 100);
+      if (regressed) {
+        regressions++;
+        logger.error("REGRESSION {}", line);
+      } else {
+        logger.info("ok         {}", line);
+      }
+    }
+    if (regressions > 0 && failOnRegression) {
+      throw new IllegalStateException(
+          regressions
+              + " benchmark regression(s) beyond "
+              + (tolerance * 100)
+              + "% tolerance and the confidence intervals");
+    }
+  }
+
+  /**
+   * Reads the results of a JMH JSON result file.
+   *
+   * @param file JMH result file ({@code -rf json})
+   * @return one map per benchmark and mode
+   * @throws IOException if the file cannot be read
+   */
+  private static List<Map<String, Object>> readResults(Path file) throws IOException {
+    return new Json()
+        .toType(Files.readString(file), new TypeToken<List<Map<String, Object>>>() {}.getType());
+  }
+
+  /**
+   * Writes the compared metrics of a result as the baseline summary.
+   *
+   * @param file baseline file
+   * @param results JMH results the metrics were read from
+   * @param metrics compared metrics
+   * @throws IOException if the file cannot be written
+   */
+  private static void writeBaseline(
+      Path file, List<Map<String, Object>> results, Map<String, Metric> metrics)
+      throws IOException {
+    Map<String, Object> run = new LinkedHashMap<>();
+    if (!results.isEmpty()) {
+      Map<String, Object> first = results.get(0);
+      for (String key :
+          List.of("jmhVersion", "jdkVersion", "forks", "warmupIterations", "measurementIterations")) {
+        run.put(key, first.get(key));
+      }
+    }
+    Map<String, Object> summary = new LinkedHashMap<>();
+    summary.put("run", run);
+    Map<String, Object> scores = new TreeMap<>();
+    metrics.forEach(
+        (name, metric) -> {
+          Map<String, Object> score = new LinkedHashMap<>();
+          score.put("score", metric.score());
+          score.put("error", Double.isFinite(metric.error()) ? metric.error() : "NaN");
+          score.put("unit", metric.unit());
+          score.put("higherIsBetter", metric.higherIsBetter());
+          scores.put(name, score);
+        });
+    summary.put("metrics", scores);
+    Files.createDirectories(file.toAbsolutePath().getParent());
+    Files.writeString(file, new Json().toJson(summary) + System.lineSeparator());
+  }
+
+  /**
+   * Reads the metrics of a baseline summary.
+   *
+   * @param file baseline file written by {@link #writeBaseline}
+   * @return metrics keyed by benchmark, mode and metric name
+   * @throws IOException if the file cannot be read
+   */
+  @SuppressWarnings("unchecked")
+  private static Map<String, Metric> readBaseline(Path file) throws IOException {
+    Map<String, Object> summary =
+        new Json().toType(Files.readString(file), new TypeToken<Map<String, Object>>() {}.getType());
+    Map<String, Metric> metrics = new LinkedHashMap<>();
+    ((Map<String, Map<String, Object>>) summary.get("metrics"))
+        .forEach(
+            (name, score) ->
+                metrics.put(
+                    name,
+                    new Metric(
+                        toDouble(score.get("score")),
+                        toDouble(score.get("error")),
+                        (String) score.get("unit"),
+                        (Boolean) score.get("higherIsBetter"))));
+    return metrics;
+  }
+
+  /**
+   * Reads primary and allocation metrics from JMH results.
+   *
+   * @param results JMH results
+   * @return metrics keyed by benchmark, mode and metric name
+   */
+  @SuppressWarnings("unchecked")
+  private static Map<String, Metric> readMetrics(List<Map<String, Object>> results) {
+    Map<String, Metric> metrics = new LinkedHashMap<>();
+    for (Map<String, Object> result : results) {
+      String benchmark = (String) result.get("benchmark");
+      String mode = (String) result.get("mode");
+      Map<String, Object> primary = (Map<String, Object>) result.get("primaryMetric");
+      if (mode.equals("sample")) {
+        Map<String, Object> percentiles = (Map<String, Object>) primary.get("scorePercentiles");
+        double median = toDouble(percentiles.get("50.0"));
+        double mean = toDouble(primary.get("score"));
+        double relativeError = mean > 0 ? toDouble(primary.get("scoreError")) / mean : Double.NaN;
+        metrics.put(
+            benchmark + " [sample p50]",
+            new Metric(median, median * relativeError, (String) primary.get("scoreUnit"), false));
+      } else {
+        metrics.put(
+            benchmark + " [" + mode + "]",
+            new Metric(
+                toDouble(primary.get("score")),
+                toDouble(primary.get("scoreError")),
+                (String) primary.get("scoreUnit"),
+                mode.equals("thrpt")));
+      }
+      Map<String, Object> secondary =
+          (Map<String, Object>) result.getOrDefault("secondaryMetrics", Map.of());
+      secondary.forEach(
+          (name, value) -> {
+            if (name.endsWith(ALLOCATION_METRIC) && mode.equals("thrpt")) {
+              Map<String, Object> metric = (Map<String, Object>) value;
+              metrics.put(
+                  benchmark + " [" + ALLOCATION_METRIC + "]",
+                  new Metric(
+                      toDouble(metric.get("score")),
+                      toDouble(metric.get("scoreError")),
+                      (String) metric.get("scoreUnit"),
+                      false));
+            }
+          });
+    }
+    return metrics;
+  }
+
+  /** Returns a JSON number as a double; JMH writes undefined errors as the string "NaN". */
+  private static double toDouble(Object value) {
+    return value instanceof Number number ? number.doubleValue() : Double.NaN;
+  }
+
+  /**
+   * Score of one benchmark metric with its 99.9% confidence half-width.
+   *
+   * <p>An undefined error makes the interval unbounded, so the metric cannot regress.
+   */
+  private record Metric(double score, double error, String unit, boolean higherIsBetter) {
+
+    double lower() {
+      return Double.isNaN(error) ? Double.NEGATIVE_INFINITY : score - error;
+    }
+
+    double upper() {
+      return Double.isNaN(error) ? Double.POSITIVE_INFINITY : score + error;
+    }
+  }
+}
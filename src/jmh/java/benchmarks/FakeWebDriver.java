@@ -0,0 +1,407 @@
+package benchmarks;
+
+import java.net.URL;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.openqa.selenium.Alert;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.Dimension;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoAlertPresentException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.Point;
+import org.openqa.selenium.Rectangle;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.logging.LogEntries;
+import org.openqa.selenium.logging.Logs;
+
+/**
+ * In-process fake WebDriver answering every command from memory.
+ *
+ * <p>Every locator matches {@code matchCount} visible elements, except locators listed as absent.
+ * Used to measure the overhead of the framework itself without any browser round trip. Window,
+ * frame, navigation, cookie, timeout and screenshot commands are accepted as well, so setup and
+ * teardown code can run against it.
+ */
+public class FakeWebDriver implements WebDriver, JavascriptExecutor, TakesScreenshot {
+
+  private final List<WebElement> elements;
+  private final Set<String> absentLocators;
+  private final Map<String, Cookie> cookies = new LinkedHashMap<>();
+  private String currentUrl = "about:blank";
+
+  /**
+   * Constructs a fake driver.
+   *
+   * @param matchCount number of elements every present locator matches
+   * @param absentLocators {@code By.toString()} values that match nothing
+   */
+  public FakeWebDriver(int matchCount, Set<String> absentLocators) {
+    List<WebElement> matches = new ArrayList<>();
+    for (int i = 0; i < matchCount; i++) {
+      matches.add(new FakeWebElement(String.valueOf(i)));
+    }
+    this.elements = Collections.unmodifiableList(matches);
+    this.absentLocators = absentLocators;
+  }
+
+  @Override
+  public void get(String url) {
+    currentUrl = url;
+  }
+
+  @Override
+  public String getCurrentUrl() {
+    return currentUrl;
+  }
+
+  @Override
+  public String getTitle() {
+    return "Fake";
+  }
+
+  @Override
+  public List<WebElement> findElements(By by) {
+    return absentLocators.contains(by.toString()) ? Collections.emptyList() : elements;
+  }
+
+  @Override
+  public WebElement findElement(By by) {
+    if (absentLocators.contains(by.toString()) || elements.isEmpty()) {
+      throw new NoSuchElementException("Fake element not found: " + by);
+    }
+    return elements.get(0);
+  }
+
+  @Override
+  public String getPageSource() {
+    return "<html></html>";
+  }
+
+  @Override
+  public void close() {}
+
+  @Override
+  public void quit() {}
+
+  @Override
+  public Set<String> getWindowHandles() {
+    return Set.of("fake-window");
+  }
+
+  @Override
+  public String getWindowHandle() {
+    return "fake-window";
+  }
+
+  @Override
+  public TargetLocator switchTo() {
+    return new FakeTargetLocator();
+  }
+
+  @Override
+  public Navigation navigate() {
+    return new FakeNavigation();
+  }
+
+  @Override
+  public Options manage() {
+    return new FakeOptions();
+  }
+
+  @Override
+  public <X> X getScreenshotAs(OutputType<X> target) {
+    return target.convertFromPngBytes(new byte[0]);
+  }
+
+  @Override
+  public Object executeScript(String script, Object... args) {
+    return 0L;
+  }
+
+  @Override
+  public Object executeAsyncScript(String script, Object... args) {
+    return 0L;
+  }
+
+  /** Fake target locator staying on the single window and frame of the driver. */
+  private class FakeTargetLocator implements TargetLocator {
+
+    @Override
+    public WebDriver frame(int index) {
+      return FakeWebDriver.this;
+    }
+
+    @Override
+    public WebDriver frame(String nameOrId) {
+      return FakeWebDriver.this;
+    }
+
+    @Override
+    public WebDriver frame(WebElement frameElement) {
+      return FakeWebDriver.this;
+    }
+
+    @Override
+    public WebDriver parentFrame() {
+      return FakeWebDriver.this;
+    }
+
+    @Override
+    public WebDriver window(String nameOrHandle) {
+      return FakeWebDriver.this;
+    }
+
+    @Override
+    public WebDriver newWindow(WindowType typeHint) {
+      return FakeWebDriver.this;
+    }
+
+    @Override
+    public WebDriver defaultContent() {
+      return FakeWebDriver.this;
+    }
+
+    @Override
+    public WebElement activeElement() {
+      return findElement(By.tagName("body"));
+    }
+
+    @Override
+    public Alert alert() {
+      throw new NoAlertPresentException("Fake driver has no alerts");
+    }
+  }
+
+  /** Fake navigation changing the current URL only. */
+  private class FakeNavigation implements Navigation {
+
+    @Override
+    public void back() {}
+
+    @Override
+    public void forward() {}
+
+    @Override
+    public void to(String url) {
+      get(url);
+    }
+
+    @Override
+    public void to(URL url) {
+      get(url.toString());
+    }
+
+    @Override
+    public void refresh() {}
+  }
+
+  /** Fake options keeping cookies in memory and accepting timeout and window settings. */
+  private class FakeOptions implements Options {
+
+    @Override
+    public void addCookie(Cookie cookie) {
+      cookies.put(cookie.getName(), cookie);
+    }
+
+    @Override
+    public void deleteCookieNamed(String name) {
+      cookies.remove(name);
+    }
+
+    @Override
+    public void deleteCookie(Cookie cookie) {
+      cookies.remove(cookie.getName());
+    }
+
+    @Override
+    public void deleteAllCookies() {
+      cookies.clear();
+    }
+
+    @Override
+    public Set<Cookie> getCookies() {
+      return new LinkedHashSet<>(cookies.values());
+    }
+
+    @Override
+    public Cookie getCookieNamed(String name) {
+      return cookies.get(name);
+    }
+
+    @Override
+    public Timeouts timeouts() {
+      return new FakeTimeouts();
+    }
+
+    @Override
+    public Window window() {
+      return new FakeWindow();
+    }
+
+    @Override
+    public Logs logs() {
+      return new FakeLogs();
+    }
+  }
+
+  /** Fake timeouts accepting any value. */
+  private static class FakeTimeouts implements Timeouts {
+
+    @Override
+    public Timeouts implicitlyWait(Duration duration) {
+      return this;
+    }
+
+    @Override
+    public Timeouts scriptTimeout(Duration duration) {
+      return this;
+    }
+
+    @Override
+    public Timeouts pageLoadTimeout(Duration duration) {
+      return this;
+    }
+  }
+
+  /** Fake window of a fixed size accepting any change. */
+  private static class FakeWindow implements Window {
+
+    @Override
+    public Dimension getSize() {
+      return new Dimension(1920, 1080);
+    }
+
+    @Override
+    public void setSize(Dimension targetSize) {}
+
+    @Override
+    public Point getPosition() {
+      return new Point(0, 0);
+    }
+
+    @Override
+    public void setPosition(Point targetPosition) {}
+
+    @Override
+    public void maximize() {}
+
+    @Override
+    public void minimize() {}
+
+    @Override
+    public void fullscreen() {}
+  }
+
+  /** Fake logs without any entries. */
+  private static class FakeLogs implements Logs {
+
+    @Override
+    public LogEntries get(String logType) {
+      return new LogEntries(List.of());
+    }
+
+    @Override
+    public Set<String> getAvailableLogTypes() {
+      return Set.of();
+    }
+  }
+
+  /** Fake element that is always visible and enabled. */
+  private static class FakeWebElement implements WebElement {
+
+    private final String key;
+
+    private FakeWebElement(String key) {
+      this.key = key;
+    }
+
+    @Override
+    public void click() {}
+
+    @Override
+    public void submit() {}
+
+    @Override
+    public void sendKeys(CharSequence... keysToSend) {}
+
+    @Override
+    public void clear() {}
+
+    @Override
+    public String getTagName() {
+      return "div";
+    }
+
+    @Override
+    public String getAttribute(String name) {
+      return key;
+    }
+
+    @Override
+    public boolean isSelected() {
+      return false;
+    }
+
+    @Override
+    public boolean isEnabled() {
+      return true;
+    }
+
+    @Override
+    public String getText() {
+      return key;
+    }
+
+    @Override
+    public List<WebElement> findElements(By by) {
+      return Collections.emptyList();
+    }
+
+    @Override
+    public WebElement findElement(By by) {
+      throw new NoSuchElementException("Fake element has no children: " + by);
+    }
+
+    @Override
+    public boolean isDisplayed() {
+      return true;
+    }
+
+    @Override
+    public Point getLocation() {
+      return new Point(0, 0);
+    }
+
+    @Override
+    public Dimension getSize() {
+      return new Dimension(100, 40);
+    }
+
+    @Override
+    public Rectangle getRect() {
+      return new Rectangle(getLocation(), getSize());
+    }
+
+    @Override
+    public String getCssValue(String propertyName) {
+      return "";
+    }
+
+    @Override
+    public <X> X getScreenshotAs(OutputType<X> target) {
+      return target.convertFromPngBytes(new byte[0]);
+    }
+  }
+}
@@ -0,0 +1,120 @@
+package benchmarks;
+
+import base.Locator;
+import base.WebDriverHelper;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.By;
+import org.openqa.selenium.WebElement;
+import pages.ApplicationsPage;
+import pages.DashboardPage;
+import pages.LoginPage;
+import utils.ReadProperties;
+
+/**
+ * JMH benchmarks of the framework hot paths against an in-process {@link FakeWebDriver}.
+ *
+ * <p>Measures locator resolution, property lookups, {@link WebDriverHelper} waits and
+ * interactions, and the page-object setup and teardown done by every test, so framework overhead
+ * can be tracked independently of browser and network time.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(
+    value = 2,
+    jvmArgsAppend = {
+      "-DadaptiveTimeout.enabled=false",
+      "-Dlog4j.configurationFile=log4j2-benchmark.xml"
+    })
+@State(Scope.Thread)
+public class FrameworkBenchmark {
+
+  private static final Locator CARD_COUNT_TEXT =
+      Locator.xpath(
+          "//*[contains(@class, 'cardDetail')]"
+              + "[descendant::*[text()='%s']]/descendant::*[contains(@class, 'countText')]");
+
+  private static final Locator TABLE_ROW_WITH_DATA_KEY =
+      Locator.xpath("//*[@data-key > '%s'][descendant::*[@role='row']]");
+
+  private static final By SIGN_IN_BUTTON = By.xpath("//*[text()='Sign in']");
+
+  private static final By NEXT_PAGE_ICON = By.xpath("//button[contains(@class, 'next')]");
+
+  private ReadProperties readProperties;
+  private FakeWebDriver driver;
+  private WebDriverHelper webDriverHelper;
+
+  /** Creates the fake driver and helper shared by the invocations of one thread. */
+  @Setup
+  public void setup() {
+    readProperties = ReadProperties.getInstance();
+    driver = new FakeWebDriver(25, Set.of(NEXT_PAGE_ICON.toString()));
+    webDriverHelper = new WebDriverHelper(driver, 5);
+  }
+
+  @Benchmark
+  public By locatorResolveBy() {
+    return CARD_COUNT_TEXT.resolveBy("Managed Applications");
+  }
+
+  @Benchmark
+  public String readPropertiesGetProperty() {
+    return readProperties.getProperty("timeoutInSeconds");
+  }
+
+  @Benchmark
+  public WebElement helperGetElement() {
+    return webDriverHelper.getElement(SIGN_IN_BUTTON, "Sign In Button");
+  }
+
+  @Benchmark
+  public void helperClick() {
+    webDriverHelper.click(SIGN_IN_BUTTON, "Sign In Button");
+  }
+
+  @Benchmark
+  public String helperGetElementText() {
+    return webDriverHelper.getElementText(CARD_COUNT_TEXT, "Card Count Text", "Managed Apps");
+  }
+
+  @Benchmark
+  public List<WebElement> helperGetAllWebElements() {
+    return webDriverHelper.getAllWebElements(TABLE_ROW_WITH_DATA_KEY, "Table Rows", 10, "-1");
+  }
+
+  @Benchmark
+  public boolean helperIsElementVisibleNowNegative() {
+    return webDriverHelper.isElementVisibleNow(NEXT_PAGE_ICON, "Next Page Icon");
+  }
+
+  /**
+   * Mirrors the per-test work of {@code BaseTest}: navigate, build the page objects used by a
+   * test, and quit the driver.
+   *
+   * @return the last page object, to keep it from being optimized away
+   */
+  @Benchmark
+  public Object baseTestSetupAndTeardown() {
+    FakeWebDriver testDriver = new FakeWebDriver(1, Set.of());
+    testDriver.get(readProperties.getProperty("url"));
+    new LoginPage(testDriver);
+    new DashboardPage(testDriver);
+    ApplicationsPage applicationsPage = new ApplicationsPage(testDriver);
+    testDriver.quit();
+    return applicationsPage;
+  }
+}
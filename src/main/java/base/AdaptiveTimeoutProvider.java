@@ -0,0 +1,264 @@
+package base;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import utils.ReadProperties;
+
+/**
+ * AdaptiveTimeoutProvider - History-learned wait timeouts per page and locator.
+ *
+ * <p>Records how long successful waits actually took for each (page, locator) pair and persists
+ * them in a small properties file, so later runs can derive a tight timeout instead of the global
+ * {@code timeoutInSeconds}. Locators without enough history fall back to the configured value.
+ *
+ * <h3>Timeout derivation:</h3>
+ *
+ * <ul>
+ *   <li>Takes the configured percentile of the recorded wait durations
+ *   <li>Multiplies it by the safety multiplier
+ *   <li>Clamps the result between the floor and the ceiling (never above the configured fallback)
+ * </ul>
+ *
+ * <h3>Configuration:</h3>
+ *
+ * <pre>
+ *   adaptiveTimeout.enabled = true
+ *   adaptiveTimeout.store = test-results/wait-history.properties
+ *   adaptiveTimeout.percentile = 95
+ *   adaptiveTimeout.multiplier = 3
+ *   adaptiveTimeout.minSamples = 5
+ *   adaptiveTimeout.floorInSeconds = 5
+ *   adaptiveTimeout.ceilingInSeconds = 60
+ * </pre>
+ *
+ * <p>Each property can be overridden with a system property of the same name.
+ *
+ * <p>A required wait that times out on an adaptive value drops the history of that locator, so
+ * the next run uses the configured timeout again and relearns. Optional waits, which may
+ * legitimately time out, always use the configured timeout: their history only holds successes
+ * and would shrink the timeout until a slow but present element is reported missing.
+ */
+public class AdaptiveTimeoutProvider {
+
+  /** Logger instance for this class */
+  private static final Logger logger = LogManager.getLogger(AdaptiveTimeoutProvider.class);
+
+  /** Maximum number of samples kept per locator */
+  private static final int MAX_SAMPLES = 50;
+
+  private static AdaptiveTimeoutProvider instance;
+
+  private final boolean enabled;
+  private final Path storePath;
+  private final double percentile;
+  private final double multiplier;
+  private final int minSamples;
+  private final long floorMillis;
+  private final long ceilingMillis;
+
+  /** Recorded wait durations in milliseconds keyed by "page|locator" */
+  private final Map<String, Deque<Long>> history = new ConcurrentHashMap<>();
+
+  /** Private constructor reading configuration and loading the persisted history. */
+  private AdaptiveTimeoutProvider(ReadProperties readProperties) {
+    this(
+        Boolean.parseBoolean(getOrDefault(readProperties, "adaptiveTimeout.enabled", "false")),
+        Paths.get(
+            getOrDefault(
+                readProperties, "adaptiveTimeout.store", "test-results/wait-history.properties")),
+        Double.parseDouble(getOrDefault(readProperties, "adaptiveTimeout.percentile", "95")),
+        Double.parseDouble(getOrDefault(readProperties, "adaptiveTimeout.multiplier", "3")),
+        Integer.parseInt(getOrDefault(readProperties, "adaptiveTimeout.minSamples", "5")),
+        Duration.ofSeconds(
+                Long.parseLong(getOrDefault(readProperties, "adaptiveTimeout.floorInSeconds", "5")))
+            .toMillis(),
+        Duration.ofSeconds(
+                Long.parseLong(
+                    getOrDefault(readProperties, "adaptiveTimeout.ceilingInSeconds", "60")))
+            .toMillis());
+    if (enabled) {
+      load();
+      Runtime.getRuntime().addShutdownHook(new Thread(this::save, "adaptive-timeout-store"));
+    }
+  }
+
+  /**
+   * Creates a provider with explicit settings and an empty history, e.g. for unit tests.
+   *
+   * @param enabled whether timeouts are derived from the history
+   * @param storePath file the history is saved to
+   * @param percentile percentile of the recorded durations
+   * @param multiplier safety multiplier applied to the percentile
+   * @param minSamples samples needed before a timeout is derived
+   * @param floorMillis lower bound of a derived timeout
+   * @param ceilingMillis upper bound of a derived timeout
+   */
+  AdaptiveTimeoutProvider(
+      boolean enabled,
+      Path storePath,
+      double percentile,
+      double multiplier,
+      int minSamples,
+      long floorMillis,
+      long ceilingMillis) {
+    this.enabled = enabled;
+    this.storePath = storePath;
+    this.percentile = percentile;
+    this.multiplier = multiplier;
+    this.minSamples = minSamples;
+    this.floorMillis = floorMillis;
+    this.ceilingMillis = ceilingMillis;
+  }
+
+  /**
+   * Returns the singleton instance of {@code AdaptiveTimeoutProvider}.
+   *
+   * @return the singleton {@code AdaptiveTimeoutProvider} instance
+   */
+  public static synchronized AdaptiveTimeoutProvider getInstance() {
+    if (instance == null) {
+      instance = new AdaptiveTimeoutProvider(ReadProperties.getInstance());
+    }
+    return instance;
+  }
+
+  /**
+   * Returns the timeout to use for waiting on a locator of a page.
+   *
+   * @param page Page name the locator belongs to
+   * @param locator Locator description (unresolved template for {@link Locator})
+   * @param fallbackInSeconds Configured timeout used when there is not enough history
+   * @return Adaptive timeout, or the fallback for unseen locators
+   */
+  public Duration getTimeout(String page, String locator, long fallbackInSeconds) {
+    Duration fallback = Duration.ofSeconds(fallbackInSeconds);
+    if (!enabled) {
+      return fallback;
+    }
+    Deque<Long> samples = history.get(key(page, locator));
+    if (samples == null) {
+      return fallback;
+    }
+    long[] sorted;
+    synchronized (samples) {
+      if (samples.size() < minSamples) {
+        return fallback;
+      }
+      sorted = samples.stream().mapToLong(Long::longValue).sorted().toArray();
+    }
+    int rank = (int) Math.ceil(percentile / 100 * sorted.length) - 1;
+    long derived = (long) (sorted[Math.max(0, rank)] * multiplier);
+    long upper = Math.min(ceilingMillis, fallback.toMillis());
+    long timeout = Math.min(upper, Math.max(floorMillis, derived));
+    return Duration.ofMillis(timeout);
+  }
+
+  /**
+   * Records the duration of a successful wait.
+   *
+   * @param page Page name the locator belongs to
+   * @param locator Locator description
+   * @param elapsed Time the wait took
+   */
+  public void recordWait(String page, String locator, Duration elapsed) {
+    if (!enabled) {
+      return;
+    }
+    Deque<Long> samples = history.computeIfAbsent(key(page, locator), k -> new ArrayDeque<>());
+    synchronized (samples) {
+      samples.addLast(elapsed.toMillis());
+      while (samples.size() > MAX_SAMPLES) {
+        samples.removeFirst();
+      }
+    }
+  }
+
+  /**
+   * Records that a required wait timed out, dropping the history of the locator so that the
+   * configured timeout is used until enough new samples are collected.
+   *
+   * @param page Page name the locator belongs to
+   * @param locator Locator description
+   * @param timeout Timeout that was exceeded
+   */
+  public void recordTimeout(String page, String locator, Duration timeout) {
+    if (enabled && history.remove(key(page, locator)) != null) {
+      logger.warn(
+          "Adaptive timeout {} ms exceeded for '{}' on page '{}', history reset",
+          timeout.toMillis(),
+          locator,
+          page);
+    }
+  }
+
+  /** Persists the recorded history to the configured store file. */
+  public synchronized void save() {
+    Properties properties = new Properties();
+    history.forEach(
+        (key, samples) -> {
+          synchronized (samples) {
+            properties.setProperty(
+                key, String.join(",", samples.stream().map(String::valueOf).toList()));
+          }
+        });
+    try {
+      if (storePath.getParent() != null) {
+        Files.createDirectories(storePath.getParent());
+      }
+      Path tempFile = storePath.resolveSibling(storePath.getFileName() + ".tmp");
+      try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+        properties.store(outputStream, "Observed wait durations in milliseconds per page|locator");
+      }
+      Files.move(tempFile, storePath, StandardCopyOption.REPLACE_EXISTING);
+    } catch (IOException e) {
+      logger.error("Failed to save wait history to {}", storePath, e);
+    }
+  }
+
+  /** Loads previously recorded history from the configured store file if it exists. */
+  private void load() {
+    if (!Files.exists(storePath)) {
+      return;
+    }
+    Properties properties = new Properties();
+    try (InputStream inputStream = Files.newInputStream(storePath)) {
+      properties.load(inputStream);
+    } catch (IOException e) {
+      logger.error("Failed to load wait history from {}", storePath, e);
+      return;
+    }
+    for (String key : properties.stringPropertyNames()) {
+      Deque<Long> samples = new ArrayDeque<>();
+      Arrays.stream(properties.getProperty(key).split(","))
+          .filter(value -> !value.isBlank())
+          .map(value -> Long.parseLong(value.trim()))
+          .forEach(samples::addLast);
+      history.put(key, samples);
+    }
+    logger.info("Loaded wait history for {} locators from {}", history.size(), storePath);
+  }
+
+  private static String key(String page, String locator) {
+    return page + "|" + locator;
+  }
+
+  private static String getOrDefault(
+      ReadProperties readProperties, String key, String defaultValue) {
+    String value = System.getProperty(key, readProperties.getProperty(key));
+    return value == null || value.isEmpty() ? defaultValue : value;
+  }
+}
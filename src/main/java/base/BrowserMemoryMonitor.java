@@ -0,0 +1,157 @@
+package base;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.remote.Augmenter;
+
+/**
+ * BrowserMemoryMonitor - Samples browser memory metrics of a long-running session.
+ *
+ * <p>Reads the JS heap size, DOM node count, event listener count and document count through the
+ * DevTools {@code Performance.getMetrics} command, appends every sample to a CSV file and fits a
+ * {@link TrendLine} per metric. Memory use on the Java side is constant regardless of how long the
+ * session is monitored. Requires Chrome or Edge.
+ *
+ * <p>With {@code collectGarbage} enabled, a garbage collection is forced in the page before each
+ * sample, so the heap trend reflects retained memory rather than allocation churn.
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * try (BrowserMemoryMonitor monitor = new BrowserMemoryMonitor(driver, sampleFile, true)) {
+ *   monitor.sample();
+ *   double heapGrowthPerHour = monitor.getSlopePerHour("JSHeapUsedSize");
+ * }
+ * }</pre>
+ */
+public class BrowserMemoryMonitor implements Closeable {
+
+  private static final Logger logger = LogManager.getLogger(BrowserMemoryMonitor.class);
+
+  /** Sampled {@code Performance.getMetrics} values */
+  public static final List<String> METRICS =
+      List.of("JSHeapUsedSize", "JSHeapTotalSize", "Nodes", "JSEventListeners", "Documents");
+
+  private final HasCdp cdp;
+  private final boolean collectGarbage;
+  private final BufferedWriter writer;
+  private final long startNanos = System.nanoTime();
+  private final Map<String, TrendLine> trends = new LinkedHashMap<>();
+  private long sampleCount;
+
+  /**
+   * Enables DevTools performance metrics and opens the sample file.
+   *
+   * @param driver Chrome or Edge WebDriver, remote sessions are augmented
+   * @param sampleFile CSV file receiving one line per sample
+   * @param collectGarbage whether to force a garbage collection before each sample
+   * @throws IOException if the sample file cannot be created
+   * @throws InvalidArgumentException if the browser does not support DevTools commands
+   */
+  public BrowserMemoryMonitor(WebDriver driver, Path sampleFile, boolean collectGarbage)
+      throws IOException {
+    WebDriver chromium = driver instanceof HasCdp ? driver : new Augmenter().augment(driver);
+    if (!(chromium instanceof HasCdp hasCdp)) {
+      throw new InvalidArgumentException("Memory monitoring requires Chrome or Edge: " + driver);
+    }
+    this.cdp = hasCdp;
+    this.collectGarbage = collectGarbage;
+    cdp.executeCdpCommand("Performance.enable", Map.of());
+    METRICS.forEach(metric -> trends.put(metric, new TrendLine()));
+    if (sampleFile.getParent() != null) {
+      Files.createDirectories(sampleFile.getParent());
+    }
+    this.writer = Files.newBufferedWriter(sampleFile, StandardCharsets.UTF_8);
+    writer.write("elapsedSeconds," + String.join(",", METRICS));
+    writer.newLine();
+    writer.flush();
+    logger.info("Streaming browser memory samples to {}", sampleFile);
+  }
+
+  /**
+   * Takes a sample, appends it to the sample file and updates the trend of every metric.
+   *
+   * @return sampled metric values by name
+   * @throws IOException if the sample cannot be written
+   */
+  @SuppressWarnings("unchecked")
+  public Map<String, Double> sample() throws IOException {
+    if (collectGarbage) {
+      cdp.executeCdpCommand("HeapProfiler.collectGarbage", Map.of());
+    }
+    Map<String, Object> response = cdp.executeCdpCommand("Performance.getMetrics", Map.of());
+    Map<String, Double> values = new LinkedHashMap<>();
+    for (Object item : (List<Object>) response.get("metrics")) {
+      Map<String, Object> metric = (Map<String, Object>) item;
+      if (METRICS.contains((String) metric.get("name"))) {
+        values.put((String) metric.get("name"), ((Number) metric.get("value")).doubleValue());
+      }
+    }
+    double elapsedSeconds = (System.nanoTime() - startNanos) / 1e9;
+    StringBuilder line = new StringBuilder(String.format(Locale.ROOT, "%.1f", elapsedSeconds));
+    for (String metric : METRICS) {
+      Double value = values.get(metric);
+      line.append(',').append(value == null ? "" : String.format(Locale.ROOT, "%.0f", value));
+      if (value != null) {
+        trends.get(metric).add(elapsedSeconds, value);
+      }
+    }
+    writer.write(line.toString());
+    writer.newLine();
+    writer.flush();
+    sampleCount++;
+    return values;
+  }
+
+  /**
+   * Returns the number of samples taken.
+   *
+   * @return sample count
+   */
+  public long getSampleCount() {
+    return sampleCount;
+  }
+
+  /**
+   * Returns the fitted growth of a metric per hour.
+   *
+   * @param metric metric name, one of {@link #METRICS}
+   * @return slope of the trend line per hour
+   */
+  public double getSlopePerHour(String metric) {
+    return trends.get(metric).getSlope() * 3600;
+  }
+
+  /**
+   * Returns the trend line of a metric.
+   *
+   * @param metric metric name, one of {@link #METRICS}
+   * @return trend line of the metric
+   */
+  public TrendLine getTrend(String metric) {
+    return trends.get(metric);
+  }
+
+  /**
+   * Closes the sample file.
+   *
+   * @throws IOException if the file cannot be closed
+   */
+  @Override
+  public void close() throws IOException {
+    writer.close();
+  }
+}
@@ -0,0 +1,306 @@
+package base;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.jsoup.Jsoup;
+import org.jsoup.helper.W3CDom;
+import org.jsoup.nodes.Document;
+import org.jsoup.nodes.Element;
+import org.jsoup.select.Elements;
+import org.jsoup.select.Selector;
+import org.openqa.selenium.By;
+import org.openqa.selenium.InvalidSelectorException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * DomSnapshot - Read-only copy of the current DOM, queried in the JVM without round trips.
+ *
+ * <p>The serialized document is fetched with a single script call and parsed with jsoup; {@link
+ * By} and {@link Locator} XPath and CSS queries are then evaluated locally, so reading dozens of
+ * texts or attributes of a table costs one command instead of one or more per value. Current form
+ * values, checked states and selected options are copied into the serialized HTML.
+ *
+ * <p>A snapshot does not follow the page. Any interaction through a {@link WebDriverHelper} of the
+ * same driver, or a switch of {@link TabGroup} tab, invalidates the snapshots taken before it, and
+ * reading an invalidated snapshot throws {@link StaleElementReferenceException}. Navigation and
+ * page updates made by the application itself are detected by {@link #hasChanged()}, at the cost of
+ * one command.
+ *
+ * <h3>Limits:</h3>
+ *
+ * <ul>
+ *   <li>No layout or styles: elements hidden by CSS, outside the viewport or not rendered yet are
+ *       matched like visible ones. Wait for visibility with the helper before taking a snapshot,
+ *       and keep visibility checks on live elements.
+ *   <li>Texts are jsoup's normalized text content, not the rendered text of {@code
+ *       WebElement.getText()}: hidden descendants are included, CSS {@code text-transform} and
+ *       generated content are not applied, and block elements are joined by spaces.
+ *   <li>Shadow DOM and frame contents are not part of the serialized document.
+ *   <li>The HTML is parsed into a full jsoup document rather than streamed, as a snapshot answers
+ *       any number of queries, and XPath is evaluated by the JDK's XPath 1.0 engine on a W3C DOM
+ *       copy converted on the first XPath query: a snapshot of a large page holds up to two
+ *       document trees in memory while it is referenced.
+ * </ul>
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * DomSnapshot snapshot = webDriverHelper.takeSnapshot();
+ * List<String> names = snapshot.getTexts(By.cssSelector("[data-key] [role='cell']"));
+ * }</pre>
+ */
+public class DomSnapshot {
+
+  private static final Logger logger = LogManager.getLogger(DomSnapshot.class);
+
+  /**
+   * Serializes a copy of the document with its current form state and returns it with the URL
+   * and the DOM mutation count
+   */
+  private static final String CAPTURE_SCRIPT =
+      "var mutations = (function () { "
+          + WebDriverHelper.DOM_MUTATION_COUNT_SCRIPT
+          + " })();"
+          + " var root = document.documentElement.cloneNode(true);"
+          + " var live = document.querySelectorAll('input, textarea, select');"
+          + " var copies = root.querySelectorAll('input, textarea, select');"
+          + " for (var i = 0; i < live.length && i < copies.length; i++) {"
+          + "   var field = live[i], copy = copies[i];"
+          + "   if (field.tagName === 'TEXTAREA') { copy.textContent = field.value; }"
+          + "   else if (field.tagName === 'SELECT') {"
+          + "     for (var j = 0; j < field.options.length; j++) {"
+          + "       copy.options[j].toggleAttribute('selected', field.options[j].selected); } }"
+          + "   else if (field.type === 'checkbox' || field.type === 'radio') {"
+          + "     copy.toggleAttribute('checked', field.checked); }"
+          + "   else { copy.setAttribute('value', field.value); } }"
+          + " return {html: root.outerHTML, url: location.href, mutations: mutations};";
+
+  /** Returns the URL and the DOM mutation count */
+  private static final String STATE_SCRIPT =
+      "var mutations = (function () { "
+          + WebDriverHelper.DOM_MUTATION_COUNT_SCRIPT
+          + " })(); return {url: location.href, mutations: mutations};";
+
+  /** Interaction count of each driver, advanced by {@link #invalidate(WebDriver)} */
+  private static final Map<WebDriver, AtomicLong> interactions =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  private final WebDriver driver;
+  private final Document document;
+  private final String url;
+  private final Object mutationCount;
+  private final long interaction;
+  private boolean changed;
+
+  /** W3C DOM for XPath queries, converted on first use */
+  private W3CDom w3cDom;
+
+  private org.w3c.dom.Document w3cDocument;
+
+  private DomSnapshot(WebDriver driver, Document document, String url, Object mutationCount) {
+    this.driver = driver;
+    this.document = document;
+    this.url = url;
+    this.mutationCount = mutationCount;
+    this.interaction = getInteraction(driver).get();
+  }
+
+  /**
+   * Takes a snapshot of the current document of a driver.
+   *
+   * @param driver WebDriver session
+   * @return snapshot of the current document
+   */
+  @SuppressWarnings("unchecked")
+  public static DomSnapshot capture(WebDriver driver) {
+    long start = System.nanoTime();
+    Map<String, Object> state =
+        (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+    String html = (String) state.get("html");
+    String url = (String) state.get("url");
+    Document document = Jsoup.parse(html, url);
+    logger.info(
+        "Captured DOM snapshot of {} ({} characters) in {} ms",
+        url,
+        html.length(),
+        (System.nanoTime() - start) / 1_000_000);
+    return new DomSnapshot(driver, document, url, state.get("mutations"));
+  }
+
+  /**
+   * Invalidates the snapshots of a driver taken so far, after an interaction that may change the
+   * page.
+   *
+   * @param driver WebDriver session
+   */
+  public static void invalidate(WebDriver driver) {
+    getInteraction(driver).incrementAndGet();
+  }
+
+  private static AtomicLong getInteraction(WebDriver driver) {
+    return interactions.computeIfAbsent(driver, key -> new AtomicLong());
+  }
+
+  /**
+   * Tells whether the snapshot was invalidated by an interaction or a detected page change.
+   *
+   * @return true if the snapshot no longer describes the page
+   */
+  public boolean isStale() {
+    return changed || getInteraction(driver).get() != interaction;
+  }
+
+  /**
+   * Checks with the browser whether the page navigated or its DOM changed since the snapshot.
+   *
+   * <p>Costs one command. A changed snapshot is stale from then on.
+   *
+   * @return true if the snapshot no longer describes the page
+   */
+  @SuppressWarnings("unchecked")
+  public boolean hasChanged() {
+    if (!isStale()) {
+      Map<String, Object> state =
+          (Map<String, Object>) ((JavascriptExecutor) driver).executeScript(STATE_SCRIPT);
+      changed =
+          !url.equals(state.get("url")) || !Objects.equals(mutationCount, state.get("mutations"));
+    }
+    return isStale();
+  }
+
+  /**
+   * Returns the URL of the document in the snapshot.
+   *
+   * @return document URL
+   */
+  public String getUrl() {
+    return url;
+  }
+
+  /**
+   * Finds the elements matching a locator.
+   *
+   * @param locator XPath or CSS based locator
+   * @return matching elements in document order
+   * @throws StaleElementReferenceException if the snapshot is stale
+   * @throws InvalidSelectorException if the locator has no query form or is invalid
+   */
+  public Elements select(By locator) {
+    if (isStale()) {
+      throw new StaleElementReferenceException(
+          "DOM snapshot of " + url + " was taken before the page changed, take a new one");
+    }
+    LocatorQuery query = LocatorQuery.of(locator);
+    try {
+      if (query.isXpath()) {
+        if (w3cDocument == null) {
+          w3cDom = new W3CDom().namespaceAware(false);
+          w3cDocument = w3cDom.fromJsoup(document);
+        }
+        return new Elements(
+            w3cDom.sourceNodes(w3cDom.selectXpath(query.expression(), w3cDocument), Element.class));
+      }
+      if (query.using() == null) {
+        throw new InvalidSelectorException("No query form for locator " + locator);
+      }
+      return document.select(query.expression());
+    } catch (Selector.SelectorParseException e) {
+      throw new InvalidSelectorException("Invalid locator for DOM snapshot: " + locator, e);
+    }
+  }
+
+  /**
+   * Finds the elements matching a locator after substituting its placeholders.
+   *
+   * @param locator locator with format placeholders
+   * @param replaceValues values to substitute into the locator expression
+   * @return matching elements in document order
+   */
+  public Elements select(Locator locator, Object... replaceValues) {
+    return select(locator.resolveBy(replaceValues));
+  }
+
+  /**
+   * Counts the elements matching a locator.
+   *
+   * @param locator XPath or CSS based locator
+   * @return number of matching elements
+   */
+  public int count(By locator) {
+    return select(locator).size();
+  }
+
+  /**
+   * Returns the text of the first element matching a locator.
+   *
+   * @param locator XPath or CSS based locator
+   * @return normalized text content
+   * @throws NoSuchElementException if no element matches
+   */
+  public String getText(By locator) {
+    return first(locator).text();
+  }
+
+  /**
+   * Returns the text of the first element matching a locator after substituting its placeholders.
+   *
+   * @param locator locator with format placeholders
+   * @param replaceValues values to substitute into the locator expression
+   * @return normalized text content
+   * @throws NoSuchElementException if no element matches
+   */
+  public String getText(Locator locator, Object... replaceValues) {
+    return getText(locator.resolveBy(replaceValues));
+  }
+
+  /**
+   * Returns the texts of all elements matching a locator.
+   *
+   * @param locator XPath or CSS based locator
+   * @return normalized text content of each element in document order
+   */
+  public List<String> getTexts(By locator) {
+    return select(locator).eachText();
+  }
+
+  /**
+   * Returns the value of an attribute of the first element matching a locator.
+   *
+   * @param locator XPath or CSS based locator
+   * @param attributeName attribute name, e.g. {@code data-key}
+   * @return attribute value, or null when the element has no such attribute
+   * @throws NoSuchElementException if no element matches
+   */
+  public String getAttribute(By locator, String attributeName) {
+    Element element = first(locator);
+    return element.hasAttr(attributeName) ? element.attr(attributeName) : null;
+  }
+
+  /**
+   * Returns the values of an attribute of all elements matching a locator that have it.
+   *
+   * @param locator XPath or CSS based locator
+   * @param attributeName attribute name, e.g. {@code data-key}
+   * @return attribute values in document order
+   */
+  public List<String> getAttributes(By locator, String attributeName) {
+    return select(locator).eachAttr(attributeName);
+  }
+
+  private Element first(By locator) {
+    Elements elements = select(locator);
+    if (elements.isEmpty()) {
+      throw new NoSuchElementException("No element in DOM snapshot of " + url + ": " + locator);
+    }
+    return elements.first();
+  }
+}
@@ -0,0 +1,221 @@
+package base;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Locale;
+import java.util.Properties;
+import java.util.function.Consumer;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.remote.AbstractDriverOptions;
+import org.openqa.selenium.remote.service.DriverFinder;
+import org.openqa.selenium.remote.service.DriverService;
+
+/**
+ * DriverBinaryCache - Resolves driver and browser binaries from a lockfile instead of Selenium
+ * Manager.
+ *
+ * <p>Selenium Manager runs as a separate process on every session to resolve the driver and
+ * browser, which takes seconds and needs network access for new versions. This cache records the
+ * paths it resolved once per browser and platform in a lockfile, so later sessions only check that
+ * the files still exist. Paths inside the cache directory are stored relative to it, so a populated
+ * cache directory can be copied to air-gapped runners.
+ *
+ * <p>In offline mode Selenium Manager is never run and a missing entry fails the session. When a
+ * locked driver no longer matches an updated browser, {@link #evict(String)} drops the entry and
+ * the next resolution asks Selenium Manager again.
+ *
+ * <h3>Configuration:</h3>
+ *
+ * <pre>
+ *   driver.cacheDir = ~/.cache/selenium           # Selenium Manager's own cache by default
+ *   driver.lockFile = &lt;driver.cacheDir&gt;/drivers.lock.properties
+ *   driver.offline = false
+ * </pre>
+ */
+public class DriverBinaryCache {
+
+  private static final Logger logger = LogManager.getLogger(DriverBinaryCache.class);
+
+  private final Path cacheDir;
+  private final Path lockFile;
+  private final boolean offline;
+
+  /**
+   * Resolved binaries of a browser.
+   *
+   * @param driverPath driver executable
+   * @param browserPath browser executable, or null to let the driver find the browser
+   * @param source {@code lockfile} or {@code selenium-manager}
+   */
+  public record Binaries(Path driverPath, Path browserPath, String source) {}
+
+  /**
+   * Creates a cache backed by a lockfile.
+   *
+   * @param cacheDir directory relative lockfile paths are resolved against
+   * @param lockFile properties file pinning the binaries per browser and platform
+   * @param offline whether to fail instead of running Selenium Manager for a missing entry
+   */
+  public DriverBinaryCache(Path cacheDir, Path lockFile, boolean offline) {
+    this.cacheDir = cacheDir.toAbsolutePath().normalize();
+    this.lockFile = lockFile;
+    this.offline = offline;
+  }
+
+  /**
+   * Tells whether Selenium Manager is never run.
+   *
+   * @return true in offline mode
+   */
+  public boolean isOffline() {
+    return offline;
+  }
+
+  /**
+   * Resolves the binaries of a browser from the lockfile, or through Selenium Manager when the
+   * browser is not locked yet, and locks them.
+   *
+   * @param browser browser name (chrome, firefox, edge)
+   * @param service driver service of the browser
+   * @param options browser options, e.g. with a browser version or binary
+   * @return resolved binaries
+   * @throws SessionNotCreatedException if the browser is not locked in offline mode
+   */
+  public synchronized Binaries resolve(
+      String browser, DriverService service, AbstractDriverOptions<?> options) {
+    String key = browser + "." + getPlatform();
+    Properties lock = readLock();
+    Binaries locked = lookup(lock, key);
+    if (locked != null) {
+      return locked;
+    }
+    if (offline) {
+      throw new SessionNotCreatedException(
+          "No locked driver for "
+              + key
+              + " in "
+              + lockFile
+              + " and driver.offline is set; run once online or copy a populated cache");
+    }
+    DriverFinder finder = new DriverFinder(service, options);
+    Path driverPath = Paths.get(finder.getDriverPath());
+    Path browserPath = finder.hasBrowserPath() ? Paths.get(finder.getBrowserPath()) : null;
+    updateLock(
+        entries -> {
+          entries.setProperty(key + ".driver", toLockPath(driverPath));
+          if (browserPath != null) {
+            entries.setProperty(key + ".browser", toLockPath(browserPath));
+          } else {
+            entries.remove(key + ".browser");
+          }
+        });
+    logger.info("Locked {} driver {} and browser {} in {}", key, driverPath, browserPath, lockFile);
+    return new Binaries(driverPath, browserPath, "selenium-manager");
+  }
+
+  /**
+   * Drops the locked binaries of a browser, e.g. after a driver and browser version mismatch.
+   *
+   * @param browser browser name (chrome, firefox, edge)
+   */
+  public synchronized void evict(String browser) {
+    String key = browser + "." + getPlatform();
+    updateLock(
+        entries -> {
+          entries.remove(key + ".driver");
+          entries.remove(key + ".browser");
+        });
+    logger.info("Evicted locked binaries of {} from {}", key, lockFile);
+  }
+
+  private Binaries lookup(Properties lock, String key) {
+    String driver = lock.getProperty(key + ".driver");
+    if (driver == null) {
+      return null;
+    }
+    Path driverPath = cacheDir.resolve(driver);
+    String browser = lock.getProperty(key + ".browser");
+    Path browserPath = browser == null ? null : cacheDir.resolve(browser);
+    if (!Files.isExecutable(driverPath)
+        || (browserPath != null && !Files.isExecutable(browserPath))) {
+      logger.warn("Locked binaries of {} are missing: {}, {}", key, driverPath, browserPath);
+      return null;
+    }
+    return new Binaries(driverPath, browserPath, "lockfile");
+  }
+
+  /** Returns a path relative to the cache directory when inside it, absolute otherwise. */
+  private String toLockPath(Path path) {
+    Path absolute = path.toAbsolutePath().normalize();
+    Path stored = absolute.startsWith(cacheDir) ? cacheDir.relativize(absolute) : absolute;
+    return stored.toString().replace('\\', '/');
+  }
+
+  private Properties readLock() {
+    Properties lock = new Properties();
+    if (Files.exists(lockFile)) {
+      try (InputStream inputStream = Files.newInputStream(lockFile)) {
+        lock.load(inputStream);
+      } catch (IOException e) {
+        logger.warn("Ignoring unreadable driver lockfile {}", lockFile, e);
+      }
+    }
+    return lock;
+  }
+
+  /**
+   * Updates the lockfile under an exclusive file lock, so concurrent runs do not lose entries, and
+   * replaces it atomically.
+   */
+  private void updateLock(Consumer<Properties> update) {
+    try {
+      if (lockFile.toAbsolutePath().getParent() != null) {
+        Files.createDirectories(lockFile.toAbsolutePath().getParent());
+      }
+      Path guard = lockFile.resolveSibling(lockFile.getFileName() + ".lck");
+      try (FileChannel channel =
+          FileChannel.open(guard, StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+        FileLock fileLock = channel.lock();
+        try {
+          Properties lock = readLock();
+          update.accept(lock);
+          Path tempFile = lockFile.resolveSibling(lockFile.getFileName() + ".tmp");
+          try (OutputStream outputStream = Files.newOutputStream(tempFile)) {
+            lock.store(outputStream, "Driver and browser binaries per browser and platform");
+          }
+          Files.move(
+              tempFile,
+              lockFile,
+              StandardCopyOption.REPLACE_EXISTING,
+              StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+          fileLock.release();
+        }
+      }
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to update driver lockfile " + lockFile, e);
+    }
+  }
+
+  /**
+   * Returns the platform of this machine, e.g. {@code linux-amd64}.
+   *
+   * @return operating system and architecture
+   */
+  static String getPlatform() {
+    String os = System.getProperty("os.name").toLowerCase(Locale.ROOT);
+    String family = os.contains("win") ? "windows" : os.contains("mac") ? "mac" : "linux";
+    return family + "-" + System.getProperty("os.arch").toLowerCase(Locale.ROOT);
+  }
+}
@@ -0,0 +1,32 @@
+package base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * EmulateNetwork - Runs a test method or all tests of a class under a {@link NetworkProfile}.
+ *
+ * <p>Takes precedence over the run-wide {@code network.profile} setting. A method annotation
+ * overrides the class annotation.
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * @Test
+ * @EmulateNetwork(NetworkProfile.SLOW_4G)
+ * public void testDashboardOnSlowNetwork() { ... }
+ * }</pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface EmulateNetwork {
+
+  /**
+   * Network profile to emulate.
+   *
+   * @return network profile
+   */
+  NetworkProfile value();
+}
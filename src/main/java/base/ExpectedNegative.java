@@ -0,0 +1,30 @@
+package base;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * ExpectedNegative - Marks a page object locator whose absence is normal control flow.
+ *
+ * <p>Visibility checks and element lookups on annotated {@code By} or {@link Locator} fields are
+ * answered from the current DOM, or as soon as the DOM has settled, instead of waiting out the
+ * full timeout before returning a negative result.
+ *
+ * <p>The DOM counts as settled after one second without mutations. Only annotate locators that
+ * are absent as often as present and appear without a network round trip, such as a disabled
+ * pagination control; elements loaded lazily or after a fetch may take longer than the settle
+ * window and would be reported absent. Check those once their loading indicator has cleared, with
+ * a single lookup such as {@code WebDriverHelper.isElementVisibleNow}.
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * @ExpectedNegative
+ * private By nextPageIcon = By.xpath("//button[contains(@class, 'next')]");
+ * }</pre>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.FIELD)
+public @interface ExpectedNegative {}
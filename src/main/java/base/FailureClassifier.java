@@ -0,0 +1,150 @@
+package base;
+
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.net.http.HttpTimeoutException;
+import java.nio.channels.ClosedChannelException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import utils.ReadProperties;
+
+/**
+ * FailureClassifier - Tells infrastructure failures apart from application and assertion failures.
+ *
+ * <p>A failure is an infrastructure failure when the session, the driver or the Grid node behind it
+ * failed rather than the application under test: a session that cannot be created or no longer
+ * exists, an unreachable browser, a reset or refused connection anywhere in the cause chain, or a
+ * driver error whose message matches a known infrastructure pattern. Assertion errors are
+ * assertion failures; everything else, including timeouts and missing elements, is an application
+ * failure. Only infrastructure failures are worth retrying.
+ *
+ * <h3>Configuration:</h3>
+ *
+ * <pre>
+ *   retry.infrastructurePatterns = node died, target crashed   # added to the built-in patterns
+ * </pre>
+ *
+ * <p>The property can be overridden with a system property of the same name.
+ */
+public class FailureClassifier {
+
+  /** Category of a failure. */
+  public enum Category {
+    /** Session, driver, Grid node or network failure; the step may pass on a retry */
+    INFRASTRUCTURE,
+    /** Application behaviour, e.g. an element that did not appear in time */
+    APPLICATION,
+    /** Failed test assertion */
+    ASSERTION
+  }
+
+  /** Lower-case message fragments of driver errors caused by the infrastructure */
+  private static final List<String> BUILT_IN_PATTERNS =
+      List.of(
+          "connection reset",
+          "connection refused",
+          "broken pipe",
+          "chrome not reachable",
+          "disconnected: not connected to devtools",
+          "session deleted because of page crash",
+          "invalid session id",
+          "unable to find session",
+          "node_died",
+          "browser has disconnected",
+          "failed to decode response from marionette");
+
+  private static FailureClassifier instance;
+
+  private final List<String> patterns;
+
+  /** Private constructor reading the configured infrastructure patterns. */
+  private FailureClassifier(ReadProperties readProperties) {
+    this(
+        System.getProperty(
+            "retry.infrastructurePatterns",
+            readProperties.getProperty("retry.infrastructurePatterns")));
+  }
+
+  /**
+   * Creates a classifier with extra infrastructure patterns, e.g. for unit tests.
+   *
+   * @param configured comma-separated message fragments added to the built-in patterns, or null
+   */
+  FailureClassifier(String configured) {
+    List<String> allPatterns = new ArrayList<>(BUILT_IN_PATTERNS);
+    if (configured != null) {
+      Arrays.stream(configured.split(","))
+          .map(pattern -> pattern.trim().toLowerCase(Locale.ROOT))
+          .filter(pattern -> !pattern.isEmpty())
+          .forEach(allPatterns::add);
+    }
+    this.patterns = List.copyOf(allPatterns);
+  }
+
+  /**
+   * Returns the singleton instance of {@code FailureClassifier}.
+   *
+   * @return the singleton {@code FailureClassifier} instance
+   */
+  public static synchronized FailureClassifier getInstance() {
+    if (instance == null) {
+      instance = new FailureClassifier(ReadProperties.getInstance());
+    }
+    return instance;
+  }
+
+  /**
+   * Classifies a failure by its type, its cause chain and driver error messages.
+   *
+   * @param failure failure thrown by a test step
+   * @return category of the failure
+   */
+  public Category classify(Throwable failure) {
+    if (failure instanceof AssertionError) {
+      return Category.ASSERTION;
+    }
+    Set<Throwable> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+    for (Throwable cause = failure; cause != null && seen.add(cause); cause = cause.getCause()) {
+      if (isInfrastructure(cause)) {
+        return Category.INFRASTRUCTURE;
+      }
+    }
+    return Category.APPLICATION;
+  }
+
+  /**
+   * Tells whether a failure is an infrastructure failure.
+   *
+   * @param failure failure thrown by a test step
+   * @return true if the session, driver, node or network failed
+   */
+  private boolean isInfrastructure(Throwable failure) {
+    if (failure instanceof SessionNotCreatedException
+        || failure instanceof NoSuchSessionException
+        || failure instanceof UnreachableBrowserException
+        || failure instanceof SocketException
+        || failure instanceof SocketTimeoutException
+        || failure instanceof HttpTimeoutException
+        || failure instanceof ClosedChannelException) {
+      return true;
+    }
+    String message =
+        failure instanceof WebDriverException webDriverException
+            ? webDriverException.getRawMessage()
+            : failure.getMessage();
+    if (message == null) {
+      return false;
+    }
+    String lowerCaseMessage = message.toLowerCase(Locale.ROOT);
+    return patterns.stream().anyMatch(lowerCaseMessage::contains);
+  }
+}
@@ -84,4 +84,32 @@ public class Locator {
       default -> throw new IllegalArgumentException("UnSupported Locator Type " + locatorType);
     };
   }
+
+  /**
+   * Returns the type of the locator.
+   *
+   * @return {@code xpath} or {@code css}
+   */
+  public String getLocatorType() {
+    return locatorType;
+  }
+
+  /**
+   * Returns the locator expression with its format placeholders.
+   *
+   * @return unresolved locator expression
+   */
+  public String getLocatorValue() {
+    return locatorValue;
+  }
+
+  /**
+   * Returns the unresolved locator description, e.g. {@code xpath: //p[text()='%s']}.
+   *
+   * @return locator type and expression with format placeholders
+   */
+  @Override
+  public String toString() {
+    return locatorType + ": " + locatorValue;
+  }
 }
@@ -0,0 +1,395 @@
+package base;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+/**
+ * LocatorProfiler - Measures the in-browser cost of the locators declared by page objects.
+ *
+ * <p>Finds every {@link By} and {@link Locator} field of the classes in a package through
+ * reflection, then times each one against the current DOM with {@code performance.now()}, the way
+ * the driver evaluates it: {@code document.evaluate} for XPath and {@code querySelectorAll} for
+ * CSS. Every sample times a batch of evaluations sized to be well above the timer resolution, which
+ * browsers coarsen to as much as 0.1 ms. Locators with format placeholders are resolved with the
+ * sample values given for them, or {@value #DEFAULT_SAMPLE_VALUE} otherwise.
+ *
+ * <p>Call {@link #profile(String)} on each page of a flow. A locator is reported for the DOM it
+ * matched the most elements in, ranked by median cost, together with the known slow patterns it
+ * uses (see {@link #lint(String, String)}).
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * LocatorProfiler profiler = new LocatorProfiler(driver, "pages", Map.of(), 30);
+ * profiler.profile("Dashboard");
+ * String report = profiler.getReport();
+ * }</pre>
+ */
+public class LocatorProfiler {
+
+  private static final Logger logger = LogManager.getLogger(LocatorProfiler.class);
+
+  /** Value substituted for placeholders of locators without sample values */
+  public static final String DEFAULT_SAMPLE_VALUE = "0";
+
+  /** Minimum duration of one timed batch, well above the coarsest timer resolution */
+  private static final double MIN_BATCH_MILLIS = 2;
+
+  /** Largest batch of evaluations per sample */
+  private static final int MAX_BATCH_SIZE = 4096;
+
+  /** Times a locator: returns the match count and the cost of one evaluation per sample */
+  private static final String PROFILE_SCRIPT =
+      "var using = arguments[0], value = arguments[1], samples = arguments[2];"
+          + " var minBatch = arguments[3], maxBatch = arguments[4];"
+          + " function run() {"
+          + "   if (using === 'xpath') {"
+          + "     return document.evaluate(value, document, null,"
+          + "         XPathResult.ORDERED_NODE_SNAPSHOT_TYPE, null).snapshotLength; }"
+          + "   return document.querySelectorAll(value).length; }"
+          + " var matches = run(), batch = 1;"
+          + " while (batch < maxBatch) {"
+          + "   var start = performance.now();"
+          + "   for (var i = 0; i < batch; i++) { run(); }"
+          + "   if (performance.now() - start >= minBatch) { break; }"
+          + "   batch *= 2; }"
+          + " var costs = [];"
+          + " for (var s = 0; s < samples; s++) {"
+          + "   var begin = performance.now();"
+          + "   for (var j = 0; j < batch; j++) { run(); }"
+          + "   costs.push((performance.now() - begin) * 1000 / batch); }"
+          + " return {matches: matches, costs: costs};";
+
+  /** Known slow XPath patterns with the reason they are slow */
+  private static final Map<Pattern, String> SLOW_PATTERNS = new LinkedHashMap<>();
+
+  /** Known slow CSS selector patterns with the reason they are slow */
+  private static final Map<Pattern, String> SLOW_CSS_PATTERNS = new LinkedHashMap<>();
+
+  static {
+    SLOW_PATTERNS.put(
+        Pattern.compile("^\\(*//\\*"),
+        "starts with //*, so every element of the document is tested");
+    SLOW_PATTERNS.put(
+        Pattern.compile("\\[[^\\]]*(descendant::|//)"),
+        "descendant search inside a predicate runs once per candidate element");
+    SLOW_PATTERNS.put(
+        Pattern.compile("(following|preceding)(-sibling)?::"),
+        "following/preceding axes walk the rest of the document or siblings");
+    SLOW_PATTERNS.put(
+        Pattern.compile("@[\\w-]+\\s*[<>]=?\\s*'"),
+        "relational comparison converts every attribute value to a number");
+    SLOW_CSS_PATTERNS.put(
+        Pattern.compile(":has\\("), ":has() re-evaluates descendants of every candidate");
+    SLOW_CSS_PATTERNS.put(
+        Pattern.compile("(^|[\\s>+~])\\*(?![=\\w\\[])"),
+        "universal selector without a condition matches every element");
+  }
+
+  private final WebDriver driver;
+  private final Map<String, Object[]> sampleValues;
+  private final int samples;
+  private final List<DeclaredLocator> locators;
+
+  /** Measurements of each locator by DOM name */
+  private final Map<DeclaredLocator, Map<String, Measurement>> measurements =
+      new LinkedHashMap<>();
+
+  /**
+   * Collects the locator fields of the page objects in a package.
+   *
+   * <p>Page objects are instantiated with the driver to read their field values; constructors
+   * must not send commands to the browser.
+   *
+   * @param driver WebDriver session to profile in
+   * @param packageName package of the page objects, e.g. {@code pages}
+   * @param sampleValues placeholder values by {@code Class.field}, e.g. {@code
+   *     DashboardPage.cardTitleLocator}
+   * @param samples number of timed samples per locator and DOM
+   * @throws IOException if the package cannot be listed
+   */
+  public LocatorProfiler(
+      WebDriver driver, String packageName, Map<String, Object[]> sampleValues, int samples)
+      throws IOException {
+    this.driver = driver;
+    this.sampleValues = sampleValues;
+    this.samples = samples;
+    this.locators = findLocators(driver, packageName);
+    logger.info("Found {} locators in package '{}'", locators.size(), packageName);
+  }
+
+  /**
+   * Times every locator against the current DOM.
+   *
+   * @param domName name of the current page, e.g. {@code Dashboard}
+   */
+  @SuppressWarnings("unchecked")
+  public void profile(String domName) {
+    JavascriptExecutor javascriptExecutor = (JavascriptExecutor) driver;
+    for (DeclaredLocator locator : locators) {
+      if (locator.using == null) {
+        continue;
+      }
+      try {
+        Map<String, Object> result =
+            (Map<String, Object>)
+                javascriptExecutor.executeScript(
+                    PROFILE_SCRIPT,
+                    locator.using,
+                    locator.expression,
+                    samples,
+                    MIN_BATCH_MILLIS,
+                    MAX_BATCH_SIZE);
+        double[] costs =
+            ((List<Object>) result.get("costs"))
+                .stream()
+                .mapToDouble(cost -> ((Number) cost).doubleValue())
+                .sorted()
+                .toArray();
+        Measurement measurement =
+            new Measurement(
+                domName,
+                ((Number) result.get("matches")).intValue(),
+                percentile(costs, 50),
+                percentile(costs, 95));
+        measurements
+            .computeIfAbsent(locator, key -> new LinkedHashMap<>())
+            .put(domName, measurement);
+      } catch (WebDriverException e) {
+        logger.warn("Unable to profile {} on {}: {}", locator.name, domName, e.getMessage());
+      }
+    }
+    logger.info("Profiled {} locators on {}", locators.size(), domName);
+  }
+
+  /**
+   * Returns the locators ranked by median cost, slowest first.
+   *
+   * <p>Each locator is reported for the DOM it matched the most elements in, the most expensive
+   * one on ties, so a locator is measured on the page it belongs to where possible.
+   *
+   * @return report text with one line per locator, then the slow patterns found
+   */
+  public String getReport() {
+    List<Map.Entry<DeclaredLocator, Measurement>> ranked = new ArrayList<>();
+    measurements.forEach(
+        (locator, byDom) ->
+            ranked.add(
+                Map.entry(
+                    locator,
+                    Collections.max(
+                        byDom.values(),
+                        Comparator.comparingInt((Measurement m) -> m.matches)
+                            .thenComparingDouble(m -> m.medianMicros)))));
+    ranked.sort(
+        Comparator.comparingDouble(
+                (Map.Entry<DeclaredLocator, Measurement> entry) -> entry.getValue().medianMicros)
+            .reversed());
+
+    StringBuilder report = new StringBuilder();
+    report.append(
+        String.format(
+            Locale.ROOT,
+            "%-4s %-40s %-14s %8s %12s %12s  %s%n",
+            "Rank",
+            "Locator",
+            "DOM",
+            "Matches",
+            "Median us",
+            "p95 us",
+            "Expression"));
+    StringBuilder findings = new StringBuilder();
+    int rank = 0;
+    for (Map.Entry<DeclaredLocator, Measurement> entry : ranked) {
+      DeclaredLocator locator = entry.getKey();
+      Measurement measurement = entry.getValue();
+      List<String> slowPatterns = lint(locator.using, locator.expression);
+      rank++;
+      report.append(
+          String.format(
+              Locale.ROOT,
+              "%-4d %-40s %-14s %8d %12.1f %12.1f  %s%s%n",
+              rank,
+              locator.name,
+              measurement.domName,
+              measurement.matches,
+              measurement.medianMicros,
+              measurement.p95Micros,
+              slowPatterns.isEmpty() ? "" : "[!] ",
+              locator.expression));
+      for (String slowPattern : slowPatterns) {
+        findings.append(String.format("%s: %s%n", locator.name, slowPattern));
+      }
+    }
+    for (DeclaredLocator locator : locators) {
+      if (locator.using == null) {
+        findings.append(String.format("%s: not profiled, %s%n", locator.name, locator.expression));
+      }
+    }
+    if (findings.length() > 0) {
+      report.append(String.format("%nSlow patterns:%n")).append(findings);
+    }
+    return report.toString();
+  }
+
+  /**
+   * Lists the known slow patterns used by a locator expression.
+   *
+   * @param using W3C locator strategy, {@code xpath} or {@code css selector}
+   * @param expression resolved locator expression
+   * @return reasons the expression is likely slow, empty when none are known
+   */
+  public static List<String> lint(String using, String expression) {
+    Map<Pattern, String> patterns = "xpath".equals(using) ? SLOW_PATTERNS : SLOW_CSS_PATTERNS;
+    List<String> reasons = new ArrayList<>();
+    patterns.forEach(
+        (pattern, reason) -> {
+          if (pattern.matcher(expression).find()) {
+            reasons.add(reason);
+          }
+        });
+    return reasons;
+  }
+
+  /**
+   * Finds the {@link By} and {@link Locator} fields of the classes in a package.
+   *
+   * @param driver WebDriver passed to page object constructors
+   * @param packageName package to scan, from class directories on the class path
+   * @return declared locators in class and field order
+   * @throws IOException if the package cannot be listed
+   */
+  private List<DeclaredLocator> findLocators(WebDriver driver, String packageName)
+      throws IOException {
+    List<DeclaredLocator> found = new ArrayList<>();
+    for (Class<?> type : findClasses(packageName)) {
+      Object instance = null;
+      for (Field field : type.getDeclaredFields()) {
+        if (field.getType() != By.class && field.getType() != Locator.class) {
+          continue;
+        }
+        String name = type.getSimpleName() + "." + field.getName();
+        try {
+          field.setAccessible(true);
+          if (!Modifier.isStatic(field.getModifiers()) && instance == null) {
+            Constructor<?> constructor = type.getDeclaredConstructor(WebDriver.class);
+            constructor.setAccessible(true);
+            instance = constructor.newInstance(driver);
+          }
+          Object value = field.get(Modifier.isStatic(field.getModifiers()) ? null : instance);
+          By by =
+              value instanceof Locator locator
+                  ? locator.resolveBy(getSampleValues(name, locator))
+                  : (By) value;
+          if (by != null) {
+            found.add(new DeclaredLocator(name, by));
+          }
+        } catch (ReflectiveOperationException | RuntimeException e) {
+          logger.warn("Unable to read locator {}: {}", name, e.toString());
+        }
+      }
+    }
+    return found;
+  }
+
+  /** Returns the configured sample values of a locator, or the default for each placeholder. */
+  private Object[] getSampleValues(String name, Locator locator) {
+    Object[] values = sampleValues.get(name);
+    if (values != null) {
+      return values;
+    }
+    Matcher matcher = Pattern.compile("%[sd]").matcher(locator.getLocatorValue());
+    List<Object> defaults = new ArrayList<>();
+    while (matcher.find()) {
+      defaults.add(DEFAULT_SAMPLE_VALUE);
+    }
+    return defaults.toArray();
+  }
+
+  /** Lists the top-level and nested classes of a package compiled into class directories. */
+  private static List<Class<?>> findClasses(String packageName) throws IOException {
+    ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+    List<Class<?>> classes = new ArrayList<>();
+    Enumeration<URL> resources = classLoader.getResources(packageName.replace('.', '/'));
+    while (resources.hasMoreElements()) {
+      URL resource = resources.nextElement();
+      if (!resource.getProtocol().equals("file")) {
+        continue;
+      }
+      List<String> classNames;
+      try (Stream<Path> files = Files.list(Paths.get(resource.toURI()))) {
+        classNames =
+            files
+                .map(file -> file.getFileName().toString())
+                .filter(file -> file.endsWith(".class"))
+                .map(file -> file.substring(0, file.length() - ".class".length()))
+                .sorted()
+                .toList();
+      } catch (URISyntaxException e) {
+        throw new IOException("Invalid class directory " + resource, e);
+      }
+      for (String className : classNames) {
+        try {
+          classes.add(Class.forName(packageName + "." + className, false, classLoader));
+        } catch (ClassNotFoundException | LinkageError e) {
+          logger.warn("Unable to load {}.{}: {}", packageName, className, e.toString());
+        }
+      }
+    }
+    return classes;
+  }
+
+  private static double percentile(double[] sorted, int percentile) {
+    if (sorted.length == 0) {
+      return 0;
+    }
+    int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+    return sorted[Math.max(0, Math.min(index, sorted.length - 1))];
+  }
+
+  /** Locator field with its W3C strategy and resolved expression. */
+  private static final class DeclaredLocator {
+
+    private final String name;
+
+    /** W3C locator strategy, null when the strategy cannot be timed by script */
+    private final String using;
+
+    private final String expression;
+
+    private DeclaredLocator(String name, By by) {
+      this.name = name;
+      LocatorQuery query = LocatorQuery.of(by);
+      this.using = query.using();
+      this.expression = query.expression();
+    }
+  }
+
+  /** Cost of a locator on one DOM. */
+  private record Measurement(
+      String domName, int matches, double medianMicros, double p95Micros) {}
+}
@@ -0,0 +1,48 @@
+package base;
+
+import org.openqa.selenium.By;
+
+/**
+ * W3C strategy and expression of a {@link By} locator, as drivers evaluate it.
+ *
+ * <p>Drivers translate the legacy {@code id}, {@code name}, {@code class name} and {@code tag name}
+ * strategies into CSS selectors, so every locator is either an XPath or a CSS query. Link text
+ * strategies have no query form and report a null strategy.
+ *
+ * @param using {@code xpath} or {@code css selector}, null when the locator has no query form
+ * @param expression query expression, or a description when the strategy is null
+ */
+record LocatorQuery(String using, String expression) {
+
+  /**
+   * Returns the query evaluated by drivers for a locator.
+   *
+   * @param by resolved locator
+   * @return query of the locator
+   */
+  static LocatorQuery of(By by) {
+    if (!(by instanceof By.Remotable remotable)) {
+      return new LocatorQuery(null, by.toString());
+    }
+    By.Remotable.Parameters parameters = remotable.getRemoteParameters();
+    String value = String.valueOf(parameters.value());
+    return switch (parameters.using()) {
+      case "xpath" -> new LocatorQuery("xpath", value);
+      case "css selector" -> new LocatorQuery("css selector", value);
+      case "id" -> new LocatorQuery("css selector", "*[id=\"" + value + "\"]");
+      case "name" -> new LocatorQuery("css selector", "*[name=\"" + value + "\"]");
+      case "class name" -> new LocatorQuery("css selector", "." + value);
+      case "tag name" -> new LocatorQuery("css selector", value);
+      default -> new LocatorQuery(null, parameters.using() + " " + value);
+    };
+  }
+
+  /**
+   * Tells whether the locator is an XPath query.
+   *
+   * @return true for XPath, false for CSS or no query form
+   */
+  boolean isXpath() {
+    return "xpath".equals(using);
+  }
+}
@@ -0,0 +1,117 @@
+package base;
+
+import java.time.Duration;
+import java.util.Locale;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.chromium.ChromiumNetworkConditions;
+
+/**
+ * NetworkProfile - Named network and CPU conditions emulated in Chromium browsers.
+ *
+ * <p>Applied by {@link WebDriverManager} through Chromium's network conditions and the DevTools
+ * {@code Emulation.setCPUThrottlingRate} command. Selected per test with {@link EmulateNetwork}, or
+ * for the whole run with {@code network.profile}; page performance metrics are stored per profile
+ * so results across profiles can be compared.
+ *
+ * <p>Throughput values follow the Chrome DevTools and Lighthouse presets and are given in kilobits
+ * per second.
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>
+ *   mvn test -Dnetwork.profile=slow-3g
+ * </pre>
+ */
+public enum NetworkProfile {
+  /** No emulation, the browser's own network and CPU */
+  NONE(0, 0, 0, false, 1),
+
+  /** Chrome DevTools "Fast 3G" */
+  FAST_3G(563, 1_440, 675, false, 1),
+
+  /** Chrome DevTools "Slow 3G" */
+  SLOW_3G(2_000, 400, 400, false, 1),
+
+  /** Lighthouse mobile: slow 4G link on a mid-tier device with 4x CPU slowdown */
+  SLOW_4G(150, 1_600, 750, false, 4),
+
+  /** No network connectivity at all */
+  OFFLINE(0, 0, 0, true, 1);
+
+  private final long latencyMillis;
+  private final int downloadKbps;
+  private final int uploadKbps;
+  private final boolean offline;
+  private final double cpuSlowdown;
+
+  NetworkProfile(
+      long latencyMillis, int downloadKbps, int uploadKbps, boolean offline, double cpuSlowdown) {
+    this.latencyMillis = latencyMillis;
+    this.downloadKbps = downloadKbps;
+    this.uploadKbps = uploadKbps;
+    this.offline = offline;
+    this.cpuSlowdown = cpuSlowdown;
+  }
+
+  /**
+   * Resolves a profile from its name, case-insensitive and with dashes or underscores.
+   *
+   * @param name profile name, e.g. {@code slow-3g}; null or empty selects {@link #NONE}
+   * @return matching profile
+   * @throws InvalidArgumentException if no profile has that name
+   */
+  public static NetworkProfile fromName(String name) {
+    if (name == null || name.isBlank()) {
+      return NONE;
+    }
+    try {
+      return valueOf(name.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+    } catch (IllegalArgumentException e) {
+      throw new InvalidArgumentException("Unknown network profile: " + name, e);
+    }
+  }
+
+  /**
+   * Returns the profile name as used in system properties and result folders.
+   *
+   * @return lower-case dashed name, e.g. {@code slow-3g}
+   */
+  public String getName() {
+    return name().toLowerCase(Locale.ROOT).replace('_', '-');
+  }
+
+  /**
+   * Returns the CPU slowdown factor passed to {@code Emulation.setCPUThrottlingRate}.
+   *
+   * @return slowdown factor, 1 for no throttling
+   */
+  public double getCpuSlowdown() {
+    return cpuSlowdown;
+  }
+
+  /**
+   * Converts the profile to Chromium network conditions.
+   *
+   * <p>ChromeDriver forwards throughput to DevTools, which expects bytes per second.
+   *
+   * @return network conditions of this profile
+   */
+  public ChromiumNetworkConditions toNetworkConditions() {
+    ChromiumNetworkConditions conditions = new ChromiumNetworkConditions();
+    conditions.setOffline(offline);
+    conditions.setLatency(Duration.ofMillis(latencyMillis));
+    conditions.setDownloadThroughput(toBytesPerSecond(downloadKbps));
+    conditions.setUploadThroughput(toBytesPerSecond(uploadKbps));
+    return conditions;
+  }
+
+  private static int toBytesPerSecond(int kbps) {
+    // -1 disables throughput throttling in DevTools
+    return kbps == 0 ? -1 : kbps * 1000 / 8;
+  }
+
+  @Override
+  public String toString() {
+    return getName();
+  }
+}
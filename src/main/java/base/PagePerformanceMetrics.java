@@ -0,0 +1,175 @@
+package base;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+/**
+ * PagePerformanceMetrics - Client-side performance metrics of the current page.
+ *
+ * <p>Collected with a single asynchronous script call that reads Navigation Timing, Resource
+ * Timing, Paint, Largest Contentful Paint and Layout Shift entries and the JS heap size. Metrics a
+ * browser does not support (e.g. {@code performance.memory} outside Chromium) are {@code null}.
+ *
+ * <p>Navigation timing describes the last full document load; for client-side navigations inside
+ * the single page application the request count and transfer size are cumulative for the document.
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * PagePerformanceMetrics metrics = PagePerformanceMetrics.collect(driver, "DashboardPage");
+ * Double lcp = metrics.getLcpMillis();
+ * }</pre>
+ */
+public class PagePerformanceMetrics {
+
+  /** Script collecting all metrics, buffered observers deliver LCP and layout shifts */
+  private static final String COLLECT_SCRIPT =
+      "var done = arguments[arguments.length - 1];"
+          + "var result = {lcp: null, cls: null};"
+          + "var nav = performance.getEntriesByType('navigation')[0];"
+          + "if (nav) { result.ttfb = nav.responseStart; result.dcl = nav.domContentLoadedEventEnd;"
+          + " result.load = nav.loadEventEnd; }"
+          + "var resources = performance.getEntriesByType('resource');"
+          + "result.requests = resources.length;"
+          + "result.transfer = resources.reduce(function (s, r) {"
+          + " return s + (r.transferSize || 0); }, nav ? nav.transferSize || 0 : 0);"
+          + "result.slowest = resources.slice()"
+          + ".sort(function (a, b) { return b.duration - a.duration; }).slice(0, 5).map(function (r) { return {name: r.name, duration: r.duration}; });"
+          + "var fcp = performance.getEntriesByName('first-contentful-paint')[0];"
+          + "result.fcp = fcp ? fcp.startTime : null;"
+          + "result.heap = performance.memory ? performance.memory.usedJSHeapSize : null;"
+          + "try { new PerformanceObserver(function (list) {"
+          + " list.getEntries().forEach(function (e) { result.lcp = e.renderTime || e.loadTime"
+          + " || e.startTime; }); }).observe({type: 'largest-contentful-paint', buffered: true});"
+          + "} catch (e) {}"
+          + "try { new PerformanceObserver(function (list) {"
+          + " list.getEntries().forEach(function (e) { if (!e.hadRecentInput) {"
+          + " result.cls = (result.cls || 0) + e.value; } }); })"
+          + ".observe({type: 'layout-shift', buffered: true}); result.cls = result.cls || 0;"
+          + "} catch (e) {}"
+          + "setTimeout(function () { done(result); }, 50);";
+
+  private final String page;
+  private final String url;
+  private final Double ttfbMillis;
+  private final Double domContentLoadedMillis;
+  private final Double loadMillis;
+  private final Double fcpMillis;
+  private final Double lcpMillis;
+  private final Double cls;
+  private final Long requestCount;
+  private final Long transferBytes;
+  private final Long jsHeapUsedBytes;
+  private final Object slowestResources;
+
+  /**
+   * Private constructor mapping the script result.
+   *
+   * @param page Page name the metrics belong to
+   * @param url URL of the page
+   * @param result Map returned by the collection script
+   */
+  private PagePerformanceMetrics(String page, String url, Map<String, Object> result) {
+    this.page = page;
+    this.url = url;
+    this.ttfbMillis = toDouble(result.get("ttfb"));
+    this.domContentLoadedMillis = toDouble(result.get("dcl"));
+    this.loadMillis = toDouble(result.get("load"));
+    this.fcpMillis = toDouble(result.get("fcp"));
+    this.lcpMillis = toDouble(result.get("lcp"));
+    this.cls = toDouble(result.get("cls"));
+    this.requestCount = toLong(result.get("requests"));
+    this.transferBytes = toLong(result.get("transfer"));
+    this.jsHeapUsedBytes = toLong(result.get("heap"));
+    this.slowestResources = result.getOrDefault("slowest", List.of());
+  }
+
+  /**
+   * Collects the performance metrics of the current page in one script call.
+   *
+   * @param driver WebDriver instance, must implement JavascriptExecutor
+   * @param page Page name the metrics belong to
+   * @return Collected metrics
+   */
+  @SuppressWarnings("unchecked")
+  public static PagePerformanceMetrics collect(WebDriver driver, String page) {
+    Object result = ((JavascriptExecutor) driver).executeAsyncScript(COLLECT_SCRIPT);
+    return new PagePerformanceMetrics(
+        page,
+        driver.getCurrentUrl(),
+        result instanceof Map ? (Map<String, Object>) result : Map.of());
+  }
+
+  public String getPage() {
+    return page;
+  }
+
+  public Double getTtfbMillis() {
+    return ttfbMillis;
+  }
+
+  public Double getDomContentLoadedMillis() {
+    return domContentLoadedMillis;
+  }
+
+  public Double getLoadMillis() {
+    return loadMillis;
+  }
+
+  public Double getFcpMillis() {
+    return fcpMillis;
+  }
+
+  public Double getLcpMillis() {
+    return lcpMillis;
+  }
+
+  public Double getCls() {
+    return cls;
+  }
+
+  public Long getRequestCount() {
+    return requestCount;
+  }
+
+  public Long getTransferBytes() {
+    return transferBytes;
+  }
+
+  public Long getJsHeapUsedBytes() {
+    return jsHeapUsedBytes;
+  }
+
+  /**
+   * Returns the metrics as an ordered map for JSON serialization.
+   *
+   * @return Metric names mapped to their values
+   */
+  public Map<String, Object> toMap() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("page", page);
+    map.put("url", url);
+    map.put("ttfbMillis", ttfbMillis);
+    map.put("domContentLoadedMillis", domContentLoadedMillis);
+    map.put("loadMillis", loadMillis);
+    map.put("fcpMillis", fcpMillis);
+    map.put("lcpMillis", lcpMillis);
+    map.put("cls", cls);
+    map.put("requestCount", requestCount);
+    map.put("transferBytes", transferBytes);
+    map.put("jsHeapUsedBytes", jsHeapUsedBytes);
+    map.put("slowestResources", slowestResources);
+    return map;
+  }
+
+  private static Double toDouble(Object value) {
+    return value instanceof Number number ? number.doubleValue() : null;
+  }
+
+  private static Long toLong(Object value) {
+    return value instanceof Number number ? number.longValue() : null;
+  }
+}
@@ -0,0 +1,122 @@
+package base;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * PerformanceBudget - Client-side performance limits declared by a page object.
+ *
+ * <p>Checked against {@link PagePerformanceMetrics} after the page is ready. A failing budget
+ * fails the test on violation, a warning budget only logs and reports it. Limits that are not set
+ * and metrics the browser does not report are skipped.
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * PerformanceBudget budget = PerformanceBudget.failing().maxLcpMillis(2500).maxRequests(80);
+ * }</pre>
+ */
+public class PerformanceBudget {
+
+  /** Whether a violation fails the test */
+  private final boolean failOnViolation;
+
+  private Double maxLcpMillis;
+  private Double maxFcpMillis;
+  private Double maxLoadMillis;
+  private Double maxCls;
+  private Long maxRequests;
+  private Long maxTransferBytes;
+  private Long maxJsHeapUsedBytes;
+
+  /**
+   * Private constructor to enforce the use of factory methods.
+   *
+   * @param failOnViolation whether a violation fails the test
+   */
+  private PerformanceBudget(boolean failOnViolation) {
+    this.failOnViolation = failOnViolation;
+  }
+
+  /**
+   * Creates a budget whose violations fail the test.
+   *
+   * @return New failing PerformanceBudget
+   */
+  public static PerformanceBudget failing() {
+    return new PerformanceBudget(true);
+  }
+
+  /**
+   * Creates a budget whose violations are only logged and reported.
+   *
+   * @return New warning PerformanceBudget
+   */
+  public static PerformanceBudget warning() {
+    return new PerformanceBudget(false);
+  }
+
+  public PerformanceBudget maxLcpMillis(double maxLcpMillis) {
+    this.maxLcpMillis = maxLcpMillis;
+    return this;
+  }
+
+  public PerformanceBudget maxFcpMillis(double maxFcpMillis) {
+    this.maxFcpMillis = maxFcpMillis;
+    return this;
+  }
+
+  public PerformanceBudget maxLoadMillis(double maxLoadMillis) {
+    this.maxLoadMillis = maxLoadMillis;
+    return this;
+  }
+
+  public PerformanceBudget maxCls(double maxCls) {
+    this.maxCls = maxCls;
+    return this;
+  }
+
+  public PerformanceBudget maxRequests(long maxRequests) {
+    this.maxRequests = maxRequests;
+    return this;
+  }
+
+  public PerformanceBudget maxTransferBytes(long maxTransferBytes) {
+    this.maxTransferBytes = maxTransferBytes;
+    return this;
+  }
+
+  public PerformanceBudget maxJsHeapUsedBytes(long maxJsHeapUsedBytes) {
+    this.maxJsHeapUsedBytes = maxJsHeapUsedBytes;
+    return this;
+  }
+
+  public boolean isFailOnViolation() {
+    return failOnViolation;
+  }
+
+  /**
+   * Checks metrics against this budget.
+   *
+   * @param metrics Collected page metrics
+   * @return Descriptions of the exceeded limits, empty if the budget is met
+   */
+  public List<String> check(PagePerformanceMetrics metrics) {
+    List<String> violations = new ArrayList<>();
+    checkLimit(violations, "LCP (ms)", metrics.getLcpMillis(), maxLcpMillis);
+    checkLimit(violations, "FCP (ms)", metrics.getFcpMillis(), maxFcpMillis);
+    checkLimit(violations, "Load (ms)", metrics.getLoadMillis(), maxLoadMillis);
+    checkLimit(violations, "CLS", metrics.getCls(), maxCls);
+    checkLimit(violations, "Requests", metrics.getRequestCount(), maxRequests);
+    checkLimit(violations, "Transfer (bytes)", metrics.getTransferBytes(), maxTransferBytes);
+    checkLimit(violations, "JS heap (bytes)", metrics.getJsHeapUsedBytes(), maxJsHeapUsedBytes);
+    return violations;
+  }
+
+  private static void checkLimit(
+      List<String> violations, String name, Number actual, Number limit) {
+    if (actual != null && limit != null && actual.doubleValue() > limit.doubleValue()) {
+      violations.add(name + " " + actual + " exceeds budget " + limit);
+    }
+  }
+}
@@ -0,0 +1,118 @@
+package base;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+
+/**
+ * RecordingCommandExecutor - Captures the command/response stream of a real WebDriver session.
+ *
+ * <p>Decorates the executor of a live session and writes every command with its response to a
+ * gzip-compressed JSON Lines file that {@link ReplayCommandExecutor} can serve back later.
+ *
+ * <h3>Recorded entry:</h3>
+ *
+ * <pre>{@code
+ * {"command":"findElement","parameters":{...},"at":1520,"took":35,
+ *  "sessionId":"...","state":"success","value":{...}}
+ * }</pre>
+ *
+ * <p>{@code at} is the start of the command in milliseconds since the session started and
+ * {@code took} its duration, which the replay uses for virtual or original timing.
+ */
+public class RecordingCommandExecutor implements CommandExecutor, Closeable {
+
+  /** Logger instance for this class */
+  private static final Logger logger = LogManager.getLogger(RecordingCommandExecutor.class);
+
+  private static final Json json = new Json();
+
+  private final CommandExecutor delegate;
+  private final Path recordingFile;
+  private final Writer writer;
+  private final long sessionStart = System.nanoTime();
+  private int commandCount;
+
+  /**
+   * Constructs a recording executor.
+   *
+   * @param delegate executor of the live session
+   * @param recordingFile gzip JSON Lines file to write the recording to
+   * @throws IOException if the recording file cannot be created
+   */
+  public RecordingCommandExecutor(CommandExecutor delegate, Path recordingFile)
+      throws IOException {
+    this.delegate = delegate;
+    this.recordingFile = recordingFile;
+    if (recordingFile.getParent() != null) {
+      Files.createDirectories(recordingFile.getParent());
+    }
+    this.writer =
+        new BufferedWriter(
+            new OutputStreamWriter(
+                new GZIPOutputStream(Files.newOutputStream(recordingFile)),
+                StandardCharsets.UTF_8));
+    logger.info("Recording WebDriver session to {}", recordingFile);
+  }
+
+  /**
+   * Executes the command on the live session and records it with its response.
+   *
+   * @param command command to execute
+   * @return response of the live session
+   * @throws IOException if the command or the recording fails
+   */
+  @Override
+  public Response execute(Command command) throws IOException {
+    long start = System.nanoTime();
+    Response response = delegate.execute(command);
+    long end = System.nanoTime();
+
+    Map<String, Object> entry = new LinkedHashMap<>();
+    entry.put("command", command.getName());
+    entry.put("parameters", command.getParameters());
+    entry.put("at", (start - sessionStart) / 1_000_000);
+    entry.put("took", (end - start) / 1_000_000);
+    entry.put("sessionId", response.getSessionId());
+    entry.put("state", response.getState());
+    entry.put("value", response.getValue());
+    synchronized (writer) {
+      StringBuilder line = new StringBuilder();
+      try (JsonOutput output = json.newOutput(line)) {
+        output.setPrettyPrint(false).writeClassName(false).write(entry);
+      }
+      writer.write(line.append('\n').toString());
+      commandCount++;
+    }
+
+    if (DriverCommand.QUIT.equals(command.getName())) {
+      close();
+    }
+    return response;
+  }
+
+  /** Finishes the recording file. */
+  @Override
+  public void close() throws IOException {
+    synchronized (writer) {
+      writer.close();
+    }
+    logger.info("Recorded {} WebDriver commands to {}", commandCount, recordingFile);
+  }
+}
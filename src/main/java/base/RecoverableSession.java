@@ -0,0 +1,482 @@
+package base;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+
+/**
+ * RecoverableSession - WebDriver proxy that reruns failed steps after infrastructure failures.
+ *
+ * <p>The proxy forwards every call to the current session. {@link #run(String, Supplier)} reruns a
+ * step that failed with an {@link FailureClassifier.Category#INFRASTRUCTURE infrastructure}
+ * failure, within the {@link RetryBudget} of the run. Before a rerun, the session is checked with
+ * a cheap command: a live session is reused as is; a dead one is replaced by a new session that
+ * is restored to the last checkpoint. Page objects keep the proxy, so they continue on the new
+ * session without being recreated, and preconditions passed before the checkpoint, such as the
+ * login, are not repeated.
+ *
+ * <p>A checkpoint holds the URL, the cookies and the local and session storage of the current
+ * page. Take one with {@link #checkpoint(WebDriver)} after expensive preconditions. A replacement
+ * session gets the cookies and storage of the checkpoint and then opens the last known page: the
+ * URL of the checkpoint, of the last {@code get} call or the one read after the last interaction,
+ * whichever came last. Reads and waits, which cannot navigate, cost no extra command.
+ *
+ * <p>Steps that act on the page are only rerun on a replaced session, see {@link
+ * #runInteraction(String, Supplier)}.
+ *
+ * <h3>Limits:</h3>
+ *
+ * <ul>
+ *   <li>Page state that is not part of the URL, such as a table page selected by a click or rows
+ *       loaded by scrolling, is reset on a replaced session.
+ *   <li>Cookies of other domains than the checkpoint page are not restored.
+ * </ul>
+ *
+ * <p>Time recovered by a rerun is estimated as the session time before the failure, which rerunning
+ * the whole test would repeat, minus the time spent on retrying.
+ *
+ * <p>{@link #start(Supplier)} also retries the creation of the first session, e.g. when no Grid
+ * slot is free, within the same budget.
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * WebDriver driver = RecoverableSession.start(() -> WebDriverManager.getDriver(name));
+ * RecoverableSession.checkpoint(driver);
+ * }</pre>
+ */
+public class RecoverableSession implements InvocationHandler {
+
+  private static final Logger logger = LogManager.getLogger(RecoverableSession.class);
+
+  /** Returns the URL and the local and session storage of the current page */
+  private static final String CAPTURE_SCRIPT =
+      "function copy(storage) { var items = {};"
+          + " for (var i = 0; i < storage.length; i++) {"
+          + "   items[storage.key(i)] = storage.getItem(storage.key(i)); }"
+          + " return items; }"
+          + " return {url: location.href, local: copy(localStorage),"
+          + " session: copy(sessionStorage)};";
+
+  /** Restores local and session storage items */
+  private static final String RESTORE_SCRIPT =
+      "for (var key in arguments[0]) { localStorage.setItem(key, arguments[0][key]); }"
+          + " for (var key in arguments[1]) { sessionStorage.setItem(key, arguments[1][key]); }";
+
+  private final Supplier<WebDriver> sessionFactory;
+  private final FailureClassifier classifier;
+  private final RetryBudget budget;
+  private final long startNanos = System.nanoTime();
+
+  private volatile WebDriver session;
+  private Checkpoint checkpoint;
+
+  /** Last known URL: of the checkpoint, the last {@code get} call or the last interaction */
+  private volatile String lastUrl;
+
+  /** Nesting depth of running steps; only the outermost step is rerun */
+  private int stepDepth;
+
+  private int retries;
+  private int replacedSessions;
+  private long recoveredMillis;
+
+  /** URL, cookies and storage of a page to restore on a new session. */
+  private record Checkpoint(
+      String url, Set<Cookie> cookies, Map<String, Object> local, Map<String, Object> session) {}
+
+  private RecoverableSession(
+      WebDriver session,
+      Supplier<WebDriver> sessionFactory,
+      FailureClassifier classifier,
+      RetryBudget budget) {
+    this.session = session;
+    this.sessionFactory = sessionFactory;
+    this.classifier = classifier;
+    this.budget = budget;
+  }
+
+  /**
+   * Creates a session, retrying infrastructure failures such as a Grid without free slots within
+   * the retry budget, and wraps it in a recoverable proxy.
+   *
+   * @param sessionFactory creates a session; also used for replacement sessions
+   * @return proxy forwarding to the current session
+   * @throws RuntimeException the last failure of the factory if no session could be created
+   */
+  public static WebDriver start(Supplier<WebDriver> sessionFactory) {
+    return start(sessionFactory, FailureClassifier.getInstance(), RetryBudget.getInstance());
+  }
+
+  static WebDriver start(
+      Supplier<WebDriver> sessionFactory, FailureClassifier classifier, RetryBudget budget) {
+    for (int attempt = 0; ; attempt++) {
+      try {
+        WebDriver session = sessionFactory.get();
+        if (attempt > 0) {
+          budget.recordRecovered(0);
+          logger.info("Session started after {} retries", attempt);
+        }
+        RecoverableSession recoverableSession =
+            new RecoverableSession(session, sessionFactory, classifier, budget);
+        recoverableSession.retries = attempt;
+        return recoverableSession.newProxy();
+      } catch (RuntimeException e) {
+        if (classifier.classify(e) != FailureClassifier.Category.INFRASTRUCTURE) {
+          throw e;
+        }
+        if (attempt >= budget.getAttemptsPerStep()) {
+          throw giveUp(budget, "Start session", "after " + attempt + " retries", e);
+        }
+        try {
+          Thread.sleep(budget.getBackoffMillis(attempt + 1));
+        } catch (InterruptedException interrupted) {
+          Thread.currentThread().interrupt();
+          throw e;
+        }
+        if (!budget.tryAcquire()) {
+          throw giveUp(budget, "Start session", "with the retry budget used up", e);
+        }
+        logger.warn(
+            "Session start failed on infrastructure, retry {}: {}",
+            attempt + 1,
+            e.toString().lines().findFirst().orElse(""));
+      }
+    }
+  }
+
+  /**
+   * Wraps a session in a recoverable proxy implementing the same public interfaces.
+   *
+   * @param session current session
+   * @param sessionFactory creates a replacement session with the same capabilities
+   * @return proxy forwarding to the current session
+   */
+  public static WebDriver wrap(WebDriver session, Supplier<WebDriver> sessionFactory) {
+    return wrap(
+        session, sessionFactory, FailureClassifier.getInstance(), RetryBudget.getInstance());
+  }
+
+  static WebDriver wrap(
+      WebDriver session,
+      Supplier<WebDriver> sessionFactory,
+      FailureClassifier classifier,
+      RetryBudget budget) {
+    return new RecoverableSession(session, sessionFactory, classifier, budget).newProxy();
+  }
+
+  /** Creates a proxy of this handler implementing the public interfaces of the session. */
+  private WebDriver newProxy() {
+    Set<Class<?>> interfaces = new LinkedHashSet<>();
+    for (Class<?> type = session.getClass(); type != null; type = type.getSuperclass()) {
+      for (Class<?> candidate : type.getInterfaces()) {
+        if (Modifier.isPublic(candidate.getModifiers())) {
+          interfaces.add(candidate);
+        }
+      }
+    }
+    interfaces.add(WrapsDriver.class);
+    return (WebDriver)
+        Proxy.newProxyInstance(
+            session.getClass().getClassLoader(),
+            interfaces.toArray(new Class<?>[0]),
+            this);
+  }
+
+  /**
+   * Returns the recoverable session behind a driver.
+   *
+   * @param driver WebDriver instance
+   * @return recoverable session, or null if the driver is not a recoverable proxy
+   */
+  public static RecoverableSession of(WebDriver driver) {
+    if (driver != null
+        && Proxy.isProxyClass(driver.getClass())
+        && Proxy.getInvocationHandler(driver) instanceof RecoverableSession recoverableSession) {
+      return recoverableSession;
+    }
+    return null;
+  }
+
+  /**
+   * Takes a checkpoint of the current page of a recoverable driver; does nothing for other drivers.
+   *
+   * @param driver WebDriver instance
+   */
+  public static void checkpoint(WebDriver driver) {
+    RecoverableSession recoverableSession = of(driver);
+    if (recoverableSession != null) {
+      recoverableSession.checkpoint();
+    }
+  }
+
+  /** Takes a checkpoint of the URL, cookies and storage of the current page. */
+  @SuppressWarnings("unchecked")
+  public synchronized void checkpoint() {
+    Map<String, Object> state =
+        (Map<String, Object>) ((JavascriptExecutor) session).executeScript(CAPTURE_SCRIPT);
+    checkpoint =
+        new Checkpoint(
+            (String) state.get("url"),
+            session.manage().getCookies(),
+            (Map<String, Object>) state.get("local"),
+            (Map<String, Object>) state.get("session"));
+    lastUrl = checkpoint.url();
+    logger.info(
+        "Session checkpoint at {} with {} cookies", checkpoint.url(), checkpoint.cookies().size());
+  }
+
+  /**
+   * Runs a step that only reads or waits, rerunning it after infrastructure failures while the
+   * retry budget allows.
+   *
+   * <p>Steps started by a running step are part of it and are not rerun on their own.
+   *
+   * @param stepName step description for logging
+   * @param step step to run
+   * @return value returned by the step
+   */
+  public <T> T run(String stepName, Supplier<T> step) {
+    return run(stepName, true, step);
+  }
+
+  /**
+   * Runs a step that acts on the page, such as a click or typing, rerunning it only on a replaced
+   * session.
+   *
+   * <p>After a connection failure on a session that is still alive, the browser may already have
+   * performed the action, so rerunning it could click or type twice; the failure is rethrown
+   * instead. As the action may navigate, the URL is read after it for a replacement session.
+   *
+   * @param stepName step description for logging
+   * @param step step to run
+   * @return value returned by the step
+   */
+  public <T> T runInteraction(String stepName, Supplier<T> step) {
+    return run(stepName, false, step);
+  }
+
+  private <T> T run(String stepName, boolean repeatable, Supplier<T> step) {
+    if (stepDepth > 0 || !budget.isEnabled()) {
+      return step.get();
+    }
+    stepDepth++;
+    try {
+      long failureNanos = 0;
+      for (int attempt = 0; ; attempt++) {
+        try {
+          T value = step.get();
+          if (attempt > 0) {
+            recordRecovered(stepName, attempt, failureNanos);
+          }
+          if (!repeatable) {
+            readCurrentUrl();
+          }
+          return value;
+        } catch (RuntimeException e) {
+          if (classifier.classify(e) != FailureClassifier.Category.INFRASTRUCTURE) {
+            throw e;
+          }
+          if (attempt == 0) {
+            failureNanos = System.nanoTime();
+          }
+          recover(stepName, attempt + 1, repeatable, e);
+          retries++;
+        }
+      }
+    } finally {
+      stepDepth--;
+    }
+  }
+
+  /**
+   * Prepares the rerun of a failed step: waits for the backoff, then reuses the session if it
+   * still answers, or replaces it and restores the last known page.
+   *
+   * @param stepName step description for logging
+   * @param attempt number of the retry, starting at 1
+   * @param repeatable whether the step may be rerun on a reused session
+   * @param failure failure of the step, rethrown when it cannot be rerun
+   */
+  private void recover(String stepName, int attempt, boolean repeatable, RuntimeException failure) {
+    if (attempt > budget.getAttemptsPerStep()) {
+      throw giveUp(budget, stepName, "after " + (attempt - 1) + " retries", failure);
+    }
+    try {
+      Thread.sleep(budget.getBackoffMillis(attempt));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw failure;
+    }
+    boolean alive = isAlive();
+    if (alive && !repeatable) {
+      throw giveUp(
+          budget, stepName, "on a live session where it may have been performed", failure);
+    }
+    if (!budget.tryAcquire()) {
+      throw giveUp(budget, stepName, "with the retry budget used up", failure);
+    }
+    logger.warn(
+        "Step '{}' failed on infrastructure, retry {}: {}",
+        stepName,
+        attempt,
+        failure.toString().lines().findFirst().orElse(""));
+    if (alive) {
+      logger.info("Reusing the session for the retry");
+      return;
+    }
+    try {
+      replaceSession();
+    } catch (RuntimeException e) {
+      failure.addSuppressed(e);
+      throw failure;
+    }
+  }
+
+  /** Records and logs a step failure that is not rerun, and returns it for rethrowing. */
+  private static RuntimeException giveUp(
+      RetryBudget budget, String stepName, String reason, RuntimeException failure) {
+    budget.recordFailed();
+    logger.error(
+        "Step '{}' failed on infrastructure and is not rerun {}, retry budget: {}",
+        stepName,
+        reason,
+        budget);
+    return failure;
+  }
+
+  /** Reads the URL of the current page, keeping the last known one if the session fails. */
+  private void readCurrentUrl() {
+    try {
+      lastUrl = session.getCurrentUrl();
+    } catch (WebDriverException e) {
+      logger.debug("Unable to read the URL after an interaction", e);
+    }
+  }
+
+  /** Tells whether the current session still answers commands. */
+  private boolean isAlive() {
+    try {
+      session.getWindowHandle();
+      return true;
+    } catch (WebDriverException e) {
+      return classifier.classify(e) != FailureClassifier.Category.INFRASTRUCTURE;
+    }
+  }
+
+  /**
+   * Replaces the current session by a new one with the cookies and storage of the last checkpoint,
+   * on the last known page.
+   */
+  private synchronized void replaceSession() {
+    try {
+      session.quit();
+    } catch (WebDriverException e) {
+      logger.debug("Unable to quit the failed session", e);
+    }
+    session = sessionFactory.get();
+    replacedSessions++;
+    budget.recordReplacedSession();
+    if (checkpoint != null) {
+      session.get(checkpoint.url());
+      for (Cookie cookie : checkpoint.cookies()) {
+        try {
+          session.manage().addCookie(cookie);
+        } catch (WebDriverException e) {
+          logger.warn("Unable to restore cookie '{}'", cookie.getName(), e);
+        }
+      }
+      ((JavascriptExecutor) session)
+          .executeScript(RESTORE_SCRIPT, checkpoint.local(), checkpoint.session());
+    } else {
+      logger.warn("Replaced the session without a checkpoint to restore");
+    }
+    if (lastUrl != null) {
+      session.get(lastUrl);
+    }
+    logger.info("Replaced the session and restored {}", lastUrl);
+  }
+
+  private void recordRecovered(String stepName, int attempts, long failureNanos) {
+    long now = System.nanoTime();
+    long millis = Math.max(0, ((failureNanos - startNanos) - (now - failureNanos)) / 1_000_000);
+    recoveredMillis += millis;
+    budget.recordRecovered(millis);
+    logger.info(
+        "Step '{}' recovered after {} retries, ~{} ms of test rerun saved",
+        stepName,
+        attempts,
+        millis);
+  }
+
+  public int getRetries() {
+    return retries;
+  }
+
+  public int getReplacedSessions() {
+    return replacedSessions;
+  }
+
+  public long getRecoveredMillis() {
+    return recoveredMillis;
+  }
+
+  /**
+   * Returns the retry statistics of the session as a map for reports.
+   *
+   * @return statistics by name
+   */
+  public Map<String, Object> toMap() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("retries", retries);
+    map.put("replacedSessions", replacedSessions);
+    map.put("recoveredMillis", recoveredMillis);
+    return map;
+  }
+
+  @Override
+  public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+    switch (method.getName()) {
+      case "getWrappedDriver":
+        if (method.getParameterCount() == 0) {
+          return session;
+        }
+        break;
+      case "equals":
+        if (method.getParameterCount() == 1) {
+          return proxy == args[0];
+        }
+        break;
+      case "hashCode":
+        if (method.getParameterCount() == 0) {
+          return System.identityHashCode(proxy);
+        }
+        break;
+      default:
+        break;
+    }
+    try {
+      Object value = method.invoke(session, args);
+      if (method.getName().equals("get") && args != null && args[0] instanceof String url) {
+        lastUrl = url;
+      }
+      return value;
+    } catch (InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+}
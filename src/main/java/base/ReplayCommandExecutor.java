@@ -0,0 +1,205 @@
+package base;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.support.ui.Sleeper;
+
+/**
+ * ReplayCommandExecutor - Serves a recorded WebDriver session without a browser.
+ *
+ * <p>Reads the file written by {@link RecordingCommandExecutor} line by line and answers each
+ * command with the next recorded response. The replay fails fast with a {@link
+ * WebDriverException} when the code under test sends a different command than was recorded, or
+ * the same command with different parameters, such as a changed locator or URL. The capabilities
+ * of the new session command are not compared, as they hold machine-specific paths.
+ *
+ * <h3>Timing:</h3>
+ *
+ * <ul>
+ *   <li>By default responses are served immediately and waits run on a virtual clock, which
+ *       follows the recorded command timestamps and advances on sleeps without sleeping
+ *   <li>With original timing every response is delayed by its recorded duration and the system
+ *       clock is used
+ * </ul>
+ *
+ * <p>Use {@link #getClock()} and {@link #getSleeper()} for waits so that time-based decisions
+ * (timeouts, DOM settle windows) match the recording.
+ */
+public class ReplayCommandExecutor implements CommandExecutor, Closeable {
+
+  /** Logger instance for this class */
+  private static final Logger logger = LogManager.getLogger(ReplayCommandExecutor.class);
+
+  private static final Json json = new Json();
+
+  private final Path recordingFile;
+  private final BufferedReader reader;
+  private final boolean originalTiming;
+  private final AtomicLong virtualMillis = new AtomicLong();
+  private final Clock clock;
+  private final Sleeper sleeper;
+  private int commandCount;
+
+  /**
+   * Constructs a replay executor.
+   *
+   * @param recordingFile gzip JSON Lines file written by {@link RecordingCommandExecutor}
+   * @param originalTiming whether to delay responses by their recorded duration
+   * @throws IOException if the recording cannot be opened
+   */
+  public ReplayCommandExecutor(Path recordingFile, boolean originalTiming) throws IOException {
+    this.recordingFile = recordingFile;
+    this.originalTiming = originalTiming;
+    this.reader =
+        new BufferedReader(
+            new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(recordingFile)),
+                StandardCharsets.UTF_8));
+    if (originalTiming) {
+      this.clock = Clock.systemDefaultZone();
+      this.sleeper = Sleeper.SYSTEM_SLEEPER;
+    } else {
+      this.clock = new VirtualClock();
+      this.sleeper = duration -> virtualMillis.addAndGet(duration.toMillis());
+    }
+    logger.info("Replaying WebDriver session from {}", recordingFile);
+  }
+
+  /**
+   * Answers the command with the next recorded response.
+   *
+   * @param command command sent by the code under test
+   * @return recorded response
+   * @throws IOException if the recording cannot be read
+   * @throws WebDriverException if the recording is exhausted or the command diverges
+   */
+  @Override
+  public synchronized Response execute(Command command) throws IOException {
+    String line = reader.readLine();
+    commandCount++;
+    if (line == null) {
+      throw new WebDriverException(
+          "Replay of " + recordingFile + " exhausted at command " + commandCount + ": " + command);
+    }
+    Map<String, Object> entry = json.toType(line, Json.MAP_TYPE);
+    if (!command.getName().equals(entry.get("command"))) {
+      throw new WebDriverException(
+          String.format(
+              "Replay of %s diverged at command %d: recorded '%s' but received '%s'",
+              recordingFile, commandCount, entry.get("command"), command.getName()));
+    }
+    Object recordedParameters = normalize(entry.get("parameters"));
+    Object parameters = normalize(command.getParameters());
+    if (!DriverCommand.NEW_SESSION.equals(command.getName())
+        && !Objects.equals(recordedParameters, parameters)) {
+      throw new WebDriverException(
+          String.format(
+              "Replay of %s diverged at command %d '%s': recorded parameters %s but received %s",
+              recordingFile, commandCount, command.getName(), recordedParameters, parameters));
+    }
+
+    long took = ((Number) entry.get("took")).longValue();
+    if (originalTiming) {
+      try {
+        Thread.sleep(took);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    } else {
+      long recordedEnd = ((Number) entry.get("at")).longValue() + took;
+      virtualMillis.accumulateAndGet(recordedEnd, Math::max);
+    }
+
+    Response response = new Response();
+    response.setSessionId((String) entry.get("sessionId"));
+    response.setState((String) entry.get("state"));
+    response.setValue(entry.get("value"));
+
+    if (DriverCommand.QUIT.equals(command.getName())) {
+      close();
+    }
+    return response;
+  }
+
+  /**
+   * Writes a value as JSON and reads it back, so that recorded and received parameters compare
+   * with the same number and collection types.
+   *
+   * @param value command parameters
+   * @return value as read from JSON
+   */
+  private static Object normalize(Object value) {
+    StringBuilder text = new StringBuilder();
+    try (JsonOutput output = json.newOutput(text)) {
+      output.setPrettyPrint(false).writeClassName(false).write(value);
+    }
+    return json.toType(text.toString(), Object.class);
+  }
+
+  /**
+   * Returns the clock waits should use during the replay.
+   *
+   * @return virtual clock, or the system clock with original timing
+   */
+  public Clock getClock() {
+    return clock;
+  }
+
+  /**
+   * Returns the sleeper waits should use during the replay.
+   *
+   * @return sleeper advancing the virtual clock, or the system sleeper with original timing
+   */
+  public Sleeper getSleeper() {
+    return sleeper;
+  }
+
+  /** Closes the recording file. */
+  @Override
+  public void close() throws IOException {
+    reader.close();
+    logger.info("Replayed {} WebDriver commands from {}", commandCount, recordingFile);
+  }
+
+  /** Clock reading the virtual time of the replay. */
+  private class VirtualClock extends Clock {
+
+    @Override
+    public ZoneId getZone() {
+      return ZoneOffset.UTC;
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+      return this;
+    }
+
+    @Override
+    public Instant instant() {
+      return Instant.EPOCH.plus(Duration.ofMillis(virtualMillis.get()));
+    }
+  }
+}
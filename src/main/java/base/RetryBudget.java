@@ -0,0 +1,166 @@
+package base;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import utils.ReadProperties;
+
+/**
+ * RetryBudget - Number of infrastructure retries allowed in one run, and what they recovered.
+ *
+ * <p>Every rerun of a step after an infrastructure failure takes one retry from the budget shared
+ * by all sessions of the run, so a broken Grid fails the run quickly instead of retrying every
+ * step of every test. A budget of 0 disables retries and the session proxy.
+ *
+ * <h3>Configuration:</h3>
+ *
+ * <pre>
+ *   retry.budget = 0                 # retries per run
+ *   retry.attemptsPerStep = 2        # retries of one step
+ *   retry.backoffInMillis = 1000     # pause before the first retry, doubled on each further one
+ * </pre>
+ *
+ * <p>Each property can be overridden with a system property of the same name.
+ */
+public class RetryBudget {
+
+  private static RetryBudget instance;
+
+  private final int budget;
+  private final int attemptsPerStep;
+  private final long backoffMillis;
+
+  private int used;
+  private int recoveredSteps;
+  private int failedSteps;
+  private int replacedSessions;
+  private long recoveredMillis;
+
+  /** Private constructor reading the configured budget. */
+  private RetryBudget(ReadProperties readProperties) {
+    this(
+        Integer.parseInt(getOrDefault(readProperties, "retry.budget", "0")),
+        Integer.parseInt(getOrDefault(readProperties, "retry.attemptsPerStep", "2")),
+        Long.parseLong(getOrDefault(readProperties, "retry.backoffInMillis", "1000")));
+  }
+
+  /**
+   * Creates a budget with explicit limits, e.g. for unit tests.
+   *
+   * @param budget retries per run
+   * @param attemptsPerStep retries of one step
+   * @param backoffMillis pause before the first retry
+   */
+  RetryBudget(int budget, int attemptsPerStep, long backoffMillis) {
+    this.budget = budget;
+    this.attemptsPerStep = attemptsPerStep;
+    this.backoffMillis = backoffMillis;
+  }
+
+  /**
+   * Returns the singleton instance of {@code RetryBudget}.
+   *
+   * @return the singleton {@code RetryBudget} instance
+   */
+  public static synchronized RetryBudget getInstance() {
+    if (instance == null) {
+      instance = new RetryBudget(ReadProperties.getInstance());
+    }
+    return instance;
+  }
+
+  /**
+   * Tells whether infrastructure retries are enabled for the run.
+   *
+   * @return true if the budget allows any retry
+   */
+  public boolean isEnabled() {
+    return budget > 0;
+  }
+
+  public int getAttemptsPerStep() {
+    return attemptsPerStep;
+  }
+
+  /**
+   * Returns the pause before a retry.
+   *
+   * @param attempt number of the retry, starting at 1
+   * @return pause in milliseconds
+   */
+  public long getBackoffMillis(int attempt) {
+    return backoffMillis << Math.min(attempt - 1, 10);
+  }
+
+  /**
+   * Takes one retry from the budget.
+   *
+   * @return true if a retry was left
+   */
+  public synchronized boolean tryAcquire() {
+    if (used >= budget) {
+      return false;
+    }
+    used++;
+    return true;
+  }
+
+  synchronized void recordRecovered(long millis) {
+    recoveredSteps++;
+    recoveredMillis += millis;
+  }
+
+  synchronized void recordFailed() {
+    failedSteps++;
+  }
+
+  synchronized void recordReplacedSession() {
+    replacedSessions++;
+  }
+
+  public synchronized int getUsed() {
+    return used;
+  }
+
+  public synchronized int getRecoveredSteps() {
+    return recoveredSteps;
+  }
+
+  public synchronized long getRecoveredMillis() {
+    return recoveredMillis;
+  }
+
+  /**
+   * Returns the retry statistics of the run as a map for reports.
+   *
+   * @return statistics by name
+   */
+  public synchronized Map<String, Object> toMap() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("budget", budget);
+    map.put("retries", used);
+    map.put("recoveredSteps", recoveredSteps);
+    map.put("failedSteps", failedSteps);
+    map.put("replacedSessions", replacedSessions);
+    map.put("recoveredMillis", recoveredMillis);
+    return map;
+  }
+
+  @Override
+  public synchronized String toString() {
+    return String.format(
+        "%d of %d retries used, %d steps recovered, %d failed despite retries,"
+            + " %d sessions replaced, ~%d s recovered",
+        used,
+        budget,
+        recoveredSteps,
+        failedSteps,
+        replacedSessions,
+        recoveredMillis / 1000);
+  }
+
+  private static String getOrDefault(
+      ReadProperties readProperties, String key, String defaultValue) {
+    String value = System.getProperty(key, readProperties.getProperty(key));
+    return value == null || value.isEmpty() ? defaultValue : value;
+  }
+}
@@ -0,0 +1,132 @@
+package base;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * SessionStartupProfile - Where the startup time of one WebDriver session goes.
+ *
+ * <p>Splits session creation into binary resolution (lockfile lookup or Selenium Manager), driver
+ * process spawn, the new-session handshake (browser launch included) and the first navigation.
+ * Phases that do not apply, such as spawning for Selenium Grid sessions, stay at 0.
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * SessionStartupProfile profile = WebDriverManager.getStartupProfile(driver);
+ * profile.recordFirstNavigation(navigationMillis);
+ * }</pre>
+ */
+public class SessionStartupProfile {
+
+  private static final Logger logger = LogManager.getLogger(SessionStartupProfile.class);
+
+  private final String sessionName;
+  private final String browser;
+  private String resolutionSource = "none";
+  private long resolutionMillis;
+  private long spawnMillis;
+  private long handshakeMillis;
+  private long firstNavigationMillis = -1;
+
+  /**
+   * Creates an empty profile.
+   *
+   * @param sessionName name of the session, e.g. the test class and method
+   * @param browser browser name
+   */
+  public SessionStartupProfile(String sessionName, String browser) {
+    this.sessionName = sessionName;
+    this.browser = browser;
+  }
+
+  void recordResolution(String source, long millis) {
+    this.resolutionSource = source;
+    this.resolutionMillis += millis;
+  }
+
+  void recordSpawn(long millis) {
+    this.spawnMillis += millis;
+  }
+
+  void recordHandshake(long millis) {
+    this.handshakeMillis += millis;
+  }
+
+  /**
+   * Records the duration of the first navigation and logs the complete profile.
+   *
+   * @param millis duration of the first page load in milliseconds
+   */
+  public void recordFirstNavigation(long millis) {
+    this.firstNavigationMillis = millis;
+    logger.info("Session startup profile: {}", this);
+  }
+
+  public String getResolutionSource() {
+    return resolutionSource;
+  }
+
+  public long getResolutionMillis() {
+    return resolutionMillis;
+  }
+
+  public long getSpawnMillis() {
+    return spawnMillis;
+  }
+
+  public long getHandshakeMillis() {
+    return handshakeMillis;
+  }
+
+  public long getFirstNavigationMillis() {
+    return firstNavigationMillis;
+  }
+
+  /**
+   * Returns the total startup time up to the first navigation.
+   *
+   * @return sum of the recorded phases in milliseconds
+   */
+  public long getTotalMillis() {
+    return resolutionMillis
+        + spawnMillis
+        + handshakeMillis
+        + Math.max(0, firstNavigationMillis);
+  }
+
+  /**
+   * Returns the profile as a map for reports.
+   *
+   * @return profile fields by name
+   */
+  public Map<String, Object> toMap() {
+    Map<String, Object> map = new LinkedHashMap<>();
+    map.put("session", sessionName);
+    map.put("browser", browser);
+    map.put("resolutionSource", resolutionSource);
+    map.put("resolutionMillis", resolutionMillis);
+    map.put("spawnMillis", spawnMillis);
+    map.put("handshakeMillis", handshakeMillis);
+    map.put("firstNavigationMillis", firstNavigationMillis);
+    map.put("totalMillis", getTotalMillis());
+    return map;
+  }
+
+  @Override
+  public String toString() {
+    return String.format(
+        "%s on %s: resolution %d ms (%s), spawn %d ms, handshake %d ms, first navigation %s,"
+            + " total %d ms",
+        sessionName,
+        browser,
+        resolutionMillis,
+        resolutionSource,
+        spawnMillis,
+        handshakeMillis,
+        firstNavigationMillis < 0 ? "pending" : firstNavigationMillis + " ms",
+        getTotalMillis());
+  }
+}
@@ -0,0 +1,212 @@
+package base;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchWindowException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WindowType;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+/**
+ * TabGroup - Named browser tabs opened side by side in one WebDriver session.
+ *
+ * <p>All tabs are opened from the current tab with {@code window.open}, which returns as soon as
+ * the tab exists, so the pages load concurrently while the session stays on the current tab. Reads
+ * then switch to a tab only to run page object code against it and switch back to the origin tab
+ * afterwards, so page objects of the origin page keep acting on it; page object waits return at
+ * once for pages that have finished loading in the background. This fans read-only checks out to
+ * several pages for the memory and Grid slot of a single browser.
+ *
+ * <p>Handles are tracked per group: the handle of each tab is the one that appeared after opening
+ * it, and {@link #close()} closes only those tabs and switches back to the tab the group was opened
+ * from, also when a tab was closed by the page. Like the driver, a group is not thread-safe.
+ *
+ * <p>Background tabs may throttle timers and skip rendering work that depends on visibility, such
+ * as intersection-observer lazy loading. Such content loads once the tab is read, as page object
+ * waits then run in the foreground.
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * try (TabGroup tabs = webDriverHelper.openTabs(Map.of("apps", applicationsUrl))) {
+ *   int rows = tabs.read("apps", tab -> new ApplicationsPage(tab).getApplicationsRowCount());
+ * }
+ * }</pre>
+ */
+public class TabGroup implements AutoCloseable {
+
+  private static final Logger logger = LogManager.getLogger(TabGroup.class);
+
+  private final WebDriver driver;
+
+  /** Handle of the tab the group was opened from */
+  private final String originHandle;
+
+  /** Window handle of each tab by name, in opening order */
+  private final Map<String, String> handles = new LinkedHashMap<>();
+
+  private boolean closed;
+
+  /**
+   * Opens a tab per URL from the current tab without waiting for the pages to load.
+   *
+   * @param driver WebDriver session to open the tabs in
+   * @param urlsByName URL of each tab by name, opened in iteration order
+   * @param timeout maximum time for a tab to appear
+   * @throws InvalidArgumentException if no URL is given
+   * @throws org.openqa.selenium.TimeoutException if a tab does not appear in time; tabs already
+   *     opened are closed
+   */
+  public TabGroup(WebDriver driver, Map<String, String> urlsByName, Duration timeout) {
+    if (urlsByName.isEmpty()) {
+      throw new InvalidArgumentException("A tab group needs at least one URL");
+    }
+    this.driver = driver;
+    this.originHandle = driver.getWindowHandle();
+    try {
+      for (Map.Entry<String, String> entry : urlsByName.entrySet()) {
+        handles.put(entry.getKey(), openTab(entry.getValue(), timeout));
+      }
+    } catch (RuntimeException e) {
+      close();
+      throw e;
+    }
+    logger.info("Opened tabs {} loading concurrently", handles.keySet());
+  }
+
+  /**
+   * Opens a tab loading a URL and returns its handle, leaving the session on the origin tab.
+   *
+   * <p>When the browser blocks the script-opened window, the tab is created through WebDriver
+   * instead and navigated by script, so the load does not block the session either.
+   */
+  private String openTab(String url, Duration timeout) {
+    Set<String> known = new HashSet<>(driver.getWindowHandles());
+    Object opened =
+        ((JavascriptExecutor) driver)
+            .executeScript("return window.open(arguments[0], '_blank') !== null;", url);
+    if (!Boolean.TRUE.equals(opened)) {
+      logger.info("Script-opened window was blocked, opening tab for '{}' through WebDriver", url);
+      String handle = driver.switchTo().newWindow(WindowType.TAB).getWindowHandle();
+      ((JavascriptExecutor) driver).executeScript("window.location.href = arguments[0];", url);
+      driver.switchTo().window(originHandle);
+      return handle;
+    }
+    return new WebDriverWait(driver, timeout)
+        .withMessage("new tab for " + url)
+        .until(
+            session -> {
+              List<String> added = new ArrayList<>(session.getWindowHandles());
+              added.removeAll(known);
+              return added.size() == 1 ? added.get(0) : null;
+            });
+  }
+
+  /**
+   * Returns the tab names in opening order.
+   *
+   * @return tab names
+   */
+  public Set<String> getNames() {
+    return Collections.unmodifiableSet(handles.keySet());
+  }
+
+  /**
+   * Switches the session to a tab of the group.
+   *
+   * @param name tab name
+   * @return driver now focused on the tab
+   * @throws InvalidArgumentException if the group has no tab with this name
+   * @throws IllegalStateException if the group is closed
+   */
+  public WebDriver switchTo(String name) {
+    if (closed) {
+      throw new IllegalStateException("Tab group is closed");
+    }
+    String handle = handles.get(name);
+    if (handle == null) {
+      throw new InvalidArgumentException("No tab '" + name + "' in group " + handles.keySet());
+    }
+    if (!handle.equals(driver.getWindowHandle())) {
+      DomSnapshot.invalidate(driver);
+      driver.switchTo().window(handle);
+    }
+    return driver;
+  }
+
+  /**
+   * Switches to a tab, reads a result from it and switches back to the origin tab.
+   *
+   * @param name tab name
+   * @param reader reads the result with the driver focused on the tab, e.g. through a page object
+   * @param <T> result type
+   * @return result of the reader
+   */
+  public <T> T read(String name, Function<WebDriver, T> reader) {
+    WebDriver tab = switchTo(name);
+    try {
+      return reader.apply(tab);
+    } finally {
+      DomSnapshot.invalidate(driver);
+      driver.switchTo().window(originHandle);
+    }
+  }
+
+  /**
+   * Reads a result from every tab, one tab at a time in opening order, and switches back to the
+   * origin tab.
+   *
+   * @param reader reads the result with the driver focused on a tab
+   * @param <T> result type
+   * @return result of each tab by name
+   */
+  public <T> Map<String, T> readAll(Function<WebDriver, T> reader) {
+    Map<String, T> results = new LinkedHashMap<>();
+    for (String name : handles.keySet()) {
+      results.put(name, read(name, reader));
+    }
+    return results;
+  }
+
+  /**
+   * Closes the tabs of the group that are still open and switches back to the origin tab.
+   *
+   * <p>Tabs not opened by the group are left untouched. Closing twice has no effect.
+   */
+  @Override
+  public void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    DomSnapshot.invalidate(driver);
+    Set<String> open = new HashSet<>(driver.getWindowHandles());
+    for (Map.Entry<String, String> tab : handles.entrySet()) {
+      if (!open.contains(tab.getValue())) {
+        continue;
+      }
+      try {
+        driver.switchTo().window(tab.getValue());
+        driver.close();
+      } catch (NoSuchWindowException e) {
+        logger.debug("Tab '{}' was already closed", tab.getKey());
+      } catch (WebDriverException e) {
+        logger.warn("Unable to close tab '{}'", tab.getKey(), e);
+      }
+    }
+    driver.switchTo().window(originHandle);
+    logger.info("Closed tabs {}", handles.keySet());
+  }
+}
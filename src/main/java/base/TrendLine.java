@@ -0,0 +1,69 @@
+package base;
+
+/**
+ * TrendLine - Online least-squares line fit with constant memory.
+ *
+ * <p>Keeps only running means and co-moments (Welford's method), so any number of samples can be
+ * fitted without storing them and without the cancellation errors of plain sums.
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * TrendLine heap = new TrendLine();
+ * heap.add(elapsedSeconds, heapBytes);
+ * double bytesPerSecond = heap.getSlope();
+ * }</pre>
+ */
+public class TrendLine {
+
+  private long count;
+  private double meanX;
+  private double meanY;
+  private double squaresX;
+  private double squaresY;
+  private double coMoment;
+
+  /**
+   * Adds a sample to the fit.
+   *
+   * @param x independent value, e.g. elapsed time
+   * @param y dependent value, e.g. memory usage
+   */
+  public void add(double x, double y) {
+    count++;
+    double deltaX = x - meanX;
+    double deltaY = y - meanY;
+    meanX += deltaX / count;
+    meanY += deltaY / count;
+    squaresX += deltaX * (x - meanX);
+    squaresY += deltaY * (y - meanY);
+    coMoment += deltaX * (y - meanY);
+  }
+
+  /**
+   * Returns the number of samples added.
+   *
+   * @return sample count
+   */
+  public long getCount() {
+    return count;
+  }
+
+  /**
+   * Returns the slope of the least-squares line.
+   *
+   * @return change of y per unit of x, 0 with fewer than two distinct x values
+   */
+  public double getSlope() {
+    return squaresX == 0 ? 0 : coMoment / squaresX;
+  }
+
+  /**
+   * Returns the coefficient of determination of the fit.
+   *
+   * @return R squared between 0 and 1, 0 when either variable is constant
+   */
+  public double getRSquared() {
+    return squaresX == 0 || squaresY == 0 ? 0 : coMoment * coMoment / (squaresX * squaresY);
+  }
+}
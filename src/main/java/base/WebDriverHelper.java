@@ -1,17 +1,27 @@
 package base;
 
+import java.time.Clock;
 import java.time.Duration;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.By;
 import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.StaleElementReferenceException;
 import org.openqa.selenium.TimeoutException;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
 import org.openqa.selenium.interactions.Actions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.support.ui.ExpectedCondition;
 import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.Sleeper;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 /**
@@ -20,6 +30,20 @@ import org.openqa.selenium.support.ui.WebDriverWait;
  * <p>Provides enhanced methods for element waiting, interaction, and visibility checks. Supports
  * both standard By locators and custom Locator objects with parameter substitution.
  *
+ * <p>Wait timeouts are resolved per locator through {@link AdaptiveTimeoutProvider}, falling back
+ * to the configured timeout for locators without recorded history.
+ *
+ * <p>With a {@link RecoverableSession} driver, waits and interactions are steps that are rerun
+ * after infrastructure failures; interactions only on a replaced session, so a click or typing is
+ * never repeated on a page that may have received it. A visibility check never reports such a
+ * failure as an invisible element.
+ *
+ * <p>Read-heavy pages can take a {@link DomSnapshot} with {@link #takeSnapshot()} and query it
+ * locally; clicks, typing, hovering and scrolling invalidate the snapshots taken before them.
+ *
+ * <p>Locators declared as {@link ExpectedNegative} are probed instead of waited on: the check
+ * returns as soon as the element is visible, or as soon as the DOM has stopped changing for the
+ * settle window, so normal end-of-data cases do not cost a full timeout.
  *
  * <h3>Usage:</h3>
  *
@@ -36,8 +60,58 @@ public class WebDriverHelper {
   /** WebDriver instance for browser interactions */
   private WebDriver driver;
 
-  /** WebDriverWait instance with configured timeout */
-  private WebDriverWait wait;
+  /** Configured timeout in seconds, used when no wait history is available */
+  private long timeoutInSeconds;
+
+  /** Page name used to key the wait history */
+  private String pageName;
+
+  /** Provider of history-learned timeouts */
+  private AdaptiveTimeoutProvider timeoutProvider = AdaptiveTimeoutProvider.getInstance();
+
+  /** Session rerunning steps after infrastructure failures, or null for a plain driver */
+  private RecoverableSession recoverableSession;
+
+  /** Tells whether a locator description is declared as expected negative */
+  private Predicate<String> expectedNegative;
+
+  /** Time without DOM mutations after which a negative probe answers */
+  private static final Duration SETTLE_WINDOW = Duration.ofMillis(1000);
+
+  /** Interval between two DOM probes */
+  private static final Duration PROBE_INTERVAL = Duration.ofMillis(100);
+
+  /** Interval between two polls of a wait */
+  private static final Duration POLL_INTERVAL = Duration.ofMillis(500);
+
+  /** Clock used for waits, virtual when replaying a recorded session */
+  private Clock clock = Clock.systemDefaultZone();
+
+  /** Sleeper used for waits, advancing the virtual clock when replaying a recorded session */
+  private Sleeper sleeper = Sleeper.SYSTEM_SLEEPER;
+
+  /** Total wait time saved by negative probes compared with waiting out the timeout */
+  private static final AtomicLong negativeWaitSavedMillis = new AtomicLong();
+
+  /** Script installing a DOM mutation counter once per document and returning its value */
+  static final String DOM_MUTATION_COUNT_SCRIPT =
+      "if (window.__domMutationCount === undefined) {"
+          + " window.__domMutationCount = 0;"
+          + " new MutationObserver(function (m) { window.__domMutationCount += m.length; })"
+          + ".observe(document, {subtree: true, childList: true, attributes: true,"
+          + " characterData: true}); }"
+          + " return window.__domMutationCount;";
+
+  /**
+   * Script scrolling an element into view and calling back after the next animation frame, which
+   * runs after the scroll event handlers; the timer covers background tabs without frames
+   */
+  static final String SCROLL_INTO_VIEW_SCRIPT =
+      "var callback = arguments[arguments.length - 1], done = false;"
+          + " function finish() { if (!done) { done = true; callback(); } }"
+          + " arguments[0].scrollIntoView();"
+          + " requestAnimationFrame(function () { setTimeout(finish, 0); });"
+          + " setTimeout(finish, 100);";
 
   /**
    * Constructs WebDriverHelper with specified timeout.
@@ -46,8 +120,274 @@ public class WebDriverHelper {
    * @param timeoutInSeconds timeout in seconds for element waiting
    */
   public WebDriverHelper(WebDriver driver, long timeoutInSeconds) {
+    this(driver, timeoutInSeconds, "Default", locatorKey -> false);
+  }
+
+  /**
+   * Constructs WebDriverHelper with specified timeout for a page.
+   *
+   * @param driver WebDriver instance for browser interactions
+   * @param timeoutInSeconds configured timeout in seconds for element waiting
+   * @param pageName page name used to key the adaptive wait history
+   * @param expectedNegative tells whether a locator description is declared as expected negative
+   */
+  public WebDriverHelper(
+      WebDriver driver,
+      long timeoutInSeconds,
+      String pageName,
+      Predicate<String> expectedNegative) {
     this.driver = driver;
-    this.wait = new WebDriverWait(this.driver, Duration.ofSeconds(timeoutInSeconds));
+    this.timeoutInSeconds = timeoutInSeconds;
+    this.pageName = pageName;
+    this.expectedNegative = expectedNegative;
+    this.recoverableSession = RecoverableSession.of(driver);
+    if (driver instanceof RemoteWebDriver remoteWebDriver
+        && remoteWebDriver.getCommandExecutor() instanceof ReplayCommandExecutor replay) {
+      this.clock = replay.getClock();
+      this.sleeper = replay.getSleeper();
+    }
+  }
+
+  /**
+   * Returns the total wait time saved so far by expected-negative probes.
+   *
+   * @return saved wait time in milliseconds across all helpers
+   */
+  public static long getNegativeWaitSavedMillis() {
+    return negativeWaitSavedMillis.get();
+  }
+
+  /**
+   * Waits for a condition that must be met, recording the observed duration.
+   *
+   * <p>If the wait times out, the wait history of the locator is reset so the configured timeout
+   * is used again on later waits.
+   *
+   * @param locatorKey locator description used to key the wait history
+   * @param fallbackInSeconds configured timeout used without history
+   * @param condition condition to wait for
+   * @return the value returned by the condition
+   * @throws TimeoutException if the condition is not met within the resolved timeout
+   */
+  private <T> T awaitRequired(
+      String locatorKey, long fallbackInSeconds, ExpectedCondition<T> condition) {
+    Duration timeout = timeoutProvider.getTimeout(pageName, locatorKey, fallbackInSeconds);
+    try {
+      return await(locatorKey, timeout, condition);
+    } catch (TimeoutException e) {
+      timeoutProvider.recordTimeout(pageName, locatorKey, timeout);
+      throw e;
+    }
+  }
+
+  /**
+   * Waits for a condition that may legitimately not be met, recording the observed duration.
+   *
+   * <p>Uses the configured timeout rather than a learned one: a timeout here is not an error and
+   * does not reset the history, so a learned timeout would only ever shrink and report a slow
+   * element as missing.
+   *
+   * @param locatorKey locator description used to key the wait history
+   * @param timeoutInSeconds configured timeout
+   * @param condition condition to wait for
+   * @return the value returned by the condition
+   * @throws TimeoutException if the condition is not met within the configured timeout
+   */
+  private <T> T awaitOptional(
+      String locatorKey, long timeoutInSeconds, ExpectedCondition<T> condition) {
+    return await(locatorKey, Duration.ofSeconds(timeoutInSeconds), condition);
+  }
+
+  private <T> T await(String locatorKey, Duration timeout, ExpectedCondition<T> condition) {
+    return runStep(
+        "Wait for " + locatorKey,
+        () -> {
+          long start = clock.millis();
+          T value =
+              new WebDriverWait(driver, timeout, POLL_INTERVAL, clock, sleeper).until(condition);
+          timeoutProvider.recordWait(
+              pageName, locatorKey, Duration.ofMillis(clock.millis() - start));
+          return value;
+        });
+  }
+
+  /**
+   * Runs a step of this helper, rerunning it after infrastructure failures when the driver is a
+   * {@link RecoverableSession}.
+   *
+   * @param stepName step description for logging
+   * @param step step to run
+   * @return value returned by the step
+   */
+  private <T> T runStep(String stepName, Supplier<T> step) {
+    return recoverableSession == null ? step.get() : recoverableSession.run(stepName, step);
+  }
+
+  /**
+   * Runs an interaction of this helper, rerunning it after infrastructure failures only on a
+   * replaced session when the driver is a {@link RecoverableSession}.
+   *
+   * @param stepName step description for logging
+   * @param step step to run
+   * @return value returned by the step
+   */
+  private <T> T runInteraction(String stepName, Supplier<T> step) {
+    return recoverableSession == null
+        ? step.get()
+        : recoverableSession.runInteraction(stepName, step);
+  }
+
+  /**
+   * Rethrows an infrastructure failure that a visibility check must not report as an invisible
+   * element.
+   *
+   * @param failure failure of the visibility check
+   */
+  private static void rethrowInfrastructureFailure(Exception failure) {
+    if (failure instanceof RuntimeException runtimeException
+        && FailureClassifier.getInstance().classify(failure)
+            == FailureClassifier.Category.INFRASTRUCTURE) {
+      throw runtimeException;
+    }
+  }
+
+  /**
+   * Probes for visible elements, answering negatively once the DOM has settled.
+   *
+   * <p>Each probe is a single {@code findElements} call without waiting. Returns the visible
+   * matches as soon as there are any; returns an empty list when nothing is visible and no DOM
+   * mutation happened within the settle window, or when the resolved timeout expires.
+   *
+   * @param locator By locator to probe
+   * @param locatorKey locator description used to key the wait history
+   * @param elementName descriptive name for logging
+   * @param fallbackInSeconds configured timeout used without history
+   * @return visible matching elements, or empty if none appeared before the DOM settled
+   */
+  private List<WebElement> probeVisibleElements(
+      By locator, String locatorKey, String elementName, long fallbackInSeconds) {
+    return runStep(
+        "Probe for " + locatorKey,
+        () -> probeUntilSettled(locator, locatorKey, elementName, fallbackInSeconds));
+  }
+
+  private List<WebElement> probeUntilSettled(
+      By locator, String locatorKey, String elementName, long fallbackInSeconds) {
+    Duration timeout = timeoutProvider.getTimeout(pageName, locatorKey, fallbackInSeconds);
+    JavascriptExecutor javascriptExecutor = (JavascriptExecutor) driver;
+    long start = clock.millis();
+    long deadline = start + timeout.toMillis();
+    Object lastMutationCount = null;
+    long settledSince = start;
+    while (true) {
+      List<WebElement> visibleElements =
+          driver.findElements(locator).stream().filter(this::isDisplayedSafely).toList();
+      long now = clock.millis();
+      if (!visibleElements.isEmpty()) {
+        timeoutProvider.recordWait(pageName, locatorKey, Duration.ofMillis(now - start));
+        return visibleElements;
+      }
+      Object mutationCount = javascriptExecutor.executeScript(DOM_MUTATION_COUNT_SCRIPT);
+      if (!Objects.equals(mutationCount, lastMutationCount)) {
+        lastMutationCount = mutationCount;
+        settledSince = now;
+      }
+      if (now - settledSince >= SETTLE_WINDOW.toMillis() || now >= deadline) {
+        long elapsedMillis = now - start;
+        long savedMillis = Math.max(0, timeout.toMillis() - elapsedMillis);
+        logger.info(
+            "Element '{}' is not visible, DOM settled in {} ms (saved {} ms, total saved {} ms)",
+            elementName,
+            elapsedMillis,
+            savedMillis,
+            negativeWaitSavedMillis.addAndGet(savedMillis));
+        return Collections.emptyList();
+      }
+      try {
+        sleeper.sleep(PROBE_INTERVAL);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+        return Collections.emptyList();
+      }
+    }
+  }
+
+  private boolean isDisplayedSafely(WebElement element) {
+    try {
+      return element.isDisplayed();
+    } catch (StaleElementReferenceException e) {
+      return false;
+    }
+  }
+
+  /**
+   * Checks if an element is visible right now, without any waiting.
+   *
+   * <p>Answers from the current DOM with a single {@code findElements} call.
+   *
+   * @param locator By locator
+   * @param elementName Descriptive name for logging
+   * @return true if a matching element is currently visible, false otherwise
+   */
+  public boolean isElementVisibleNow(By locator, String elementName) {
+    logger.info("Checking if Element is visible now '{}'", elementName);
+    return runStep(
+        "Check " + elementName,
+        () -> driver.findElements(locator).stream().anyMatch(this::isDisplayedSafely));
+  }
+
+  /**
+   * Checks if an element is visible right now using a custom Locator, without any waiting.
+   *
+   * <p>Answers from the current DOM with a single {@code findElements} call.
+   *
+   * @param locator Custom Locator object
+   * @param elementName Descriptive name for logging
+   * @param replaceValues Values to substitute in locator
+   * @return true if a matching element is currently visible, false otherwise
+   */
+  public boolean isElementVisibleNow(Locator locator, String elementName, Object... replaceValues) {
+    logger.info(
+        "Checking if Element is visible now '{}' with replace values '{}'",
+        elementName,
+        replaceValues);
+    By byLocator = locator.resolveBy(replaceValues);
+    return runStep(
+        "Check " + elementName,
+        () -> driver.findElements(byLocator).stream().anyMatch(this::isDisplayedSafely));
+  }
+
+  /**
+   * Waits for an element, such as a loading indicator, to be hidden or removed.
+   *
+   * <p>Returns at once if the element is not visible.
+   *
+   * @param locator By locator
+   * @param elementName Descriptive name for logging
+   * @throws TimeoutException if the element is still visible after the configured timeout
+   */
+  public void waitForElementToDisappear(By locator, String elementName) {
+    logger.info("Waiting for Element '{}' to disappear", elementName);
+    awaitRequired(
+        "Invisibility of " + locator,
+        timeoutInSeconds,
+        ExpectedConditions.invisibilityOfElementLocated(locator));
+  }
+
+  /**
+   * Checks if an element is absent, answering as soon as the DOM has settled.
+   *
+   * <p>Use for checks where absence is the normal outcome. Returns false as soon as the element is
+   * visible, and true once nothing matching is visible and the DOM has stopped changing.
+   *
+   * @param locator By locator
+   * @param elementName Descriptive name for logging
+   * @return true if no matching element is visible after the DOM settled, false otherwise
+   */
+  public boolean isElementAbsent(By locator, String elementName) {
+    logger.info("Checking if Element is absent '{}'", elementName);
+    return probeVisibleElements(locator, locator.toString(), elementName, timeoutInSeconds)
+        .isEmpty();
   }
 
   /**
@@ -58,7 +398,10 @@ public class WebDriverHelper {
    */
   public void waitForElementToVisible(By locator, String elementName) {
     logger.info("Waiting for Element to visible '{}'", elementName);
-    wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+    awaitRequired(
+        locator.toString(),
+        timeoutInSeconds,
+        ExpectedConditions.visibilityOfElementLocated(locator));
   }
 
   /**
@@ -73,7 +416,10 @@ public class WebDriverHelper {
    * @throws TimeoutException if the element is not visible within the configured timeout
    */
   public WebElement getElement(By locator, String elementName) {
-    return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+    return awaitRequired(
+        locator.toString(),
+        timeoutInSeconds,
+        ExpectedConditions.visibilityOfElementLocated(locator));
   }
 
   /**
@@ -86,7 +432,10 @@ public class WebDriverHelper {
     Locator locator, String elementName, Object... replaceValues) {
     logger.info(
         "Waiting for Element to visible '{}' with replace values '{}'", elementName, replaceValues);
-    wait.until(ExpectedConditions.visibilityOfElementLocated(locator.resolveBy(replaceValues)));
+    awaitRequired(
+        locator.toString(),
+        timeoutInSeconds,
+        ExpectedConditions.visibilityOfElementLocated(locator.resolveBy(replaceValues)));
   }
 
   /**
@@ -97,7 +446,9 @@ public class WebDriverHelper {
    * @return The visible WebElement
    */
   public WebElement getElement(Locator locator, String elementName, Object... replaceValues) {
-    return wait.until(
+    return awaitRequired(
+        locator.toString(),
+        timeoutInSeconds,
         ExpectedConditions.visibilityOfElementLocated(locator.resolveBy(replaceValues)));
   }
 
@@ -112,11 +463,18 @@ public class WebDriverHelper {
    * @return true if the element is visible, false otherwise
    */
   public boolean isElementVisible(By locator, String elementName) {
+    if (expectedNegative.test(locator.toString())) {
+      return !isElementAbsent(locator, elementName);
+    }
     try {
       logger.info("Checking if Element is visible '{}'", elementName);
-      wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+      awaitOptional(
+          locator.toString(),
+          timeoutInSeconds,
+          ExpectedConditions.visibilityOfElementLocated(locator));
       return true;
     } catch (Exception e) {
+      rethrowInfrastructureFailure(e);
       logger.info("Element '{}' is not visible", elementName);
       return false;
     }
@@ -130,12 +488,17 @@ public class WebDriverHelper {
    * @return true if visible, false otherwise
    */
   public boolean isElementVisible(By locator, String elementName, long timeout) {
-    WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
+    if (expectedNegative.test(locator.toString())) {
+      logger.info("Checking if Element is visible '{}'", elementName);
+      return !probeVisibleElements(locator, locator.toString(), elementName, timeout).isEmpty();
+    }
     try {
       logger.info("Checking if Element is visible '{}'", elementName);
-      customWait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+      awaitOptional(
+          locator.toString(), timeout, ExpectedConditions.visibilityOfElementLocated(locator));
       return true;
     } catch (Exception e) {
+      rethrowInfrastructureFailure(e);
       logger.info("Element '{}' is not visible", elementName);
       return false;
     }
@@ -150,14 +513,26 @@ public class WebDriverHelper {
    */
   public boolean isElementVisible(Locator locator, String elementName, Object... replaceValues) {
     By byLocator = locator.resolveBy(replaceValues);
+    if (expectedNegative.test(locator.toString())) {
+      logger.info(
+          "Checking if Element is visible '{}' with replace values '{}'",
+          elementName,
+          replaceValues);
+      return !probeVisibleElements(byLocator, locator.toString(), elementName, timeoutInSeconds)
+          .isEmpty();
+    }
     try {
       logger.info(
           "Checking if Element is visible '{}' with replace values '{}'",
           elementName,
           replaceValues);
-      wait.until(ExpectedConditions.visibilityOfElementLocated(byLocator));
+      awaitOptional(
+          locator.toString(),
+          timeoutInSeconds,
+          ExpectedConditions.visibilityOfElementLocated(byLocator));
       return true;
     } catch (Exception e) {
+      rethrowInfrastructureFailure(e);
       logger.info(
           "Element '{}' with replace value '{}' is not visible", elementName, replaceValues);
       return false;
@@ -181,8 +556,14 @@ public class WebDriverHelper {
       value = "******";
     }
     logger.info("Send Keys '{}' to Element '{}'", value, elementName);
-    WebElement element = getElement(locator, elementName);
-    element.sendKeys(keysToSend);
+    runInteraction(
+        "Send keys to " + elementName,
+        () -> {
+          WebElement element = getElement(locator, elementName);
+          DomSnapshot.invalidate(driver);
+          element.sendKeys(keysToSend);
+          return null;
+        });
   }
 
   /**
@@ -197,8 +578,14 @@ public class WebDriverHelper {
    */
   public void click(By locator, String elementName) {
     logger.info("Clicking on Element '{}'", elementName);
-    WebElement element = getElement(locator, elementName);
-    element.click();
+    runInteraction(
+        "Click " + elementName,
+        () -> {
+          WebElement element = getElement(locator, elementName);
+          DomSnapshot.invalidate(driver);
+          element.click();
+          return null;
+        });
   }
 
   /**
@@ -209,8 +596,14 @@ public class WebDriverHelper {
    */
   public void click(Locator locator, String elementName, Object... replaceValues) {
     logger.info("Clicking on Element '{}' with replace values '{}'", elementName, replaceValues);
-    WebElement element = getElement(locator, elementName, replaceValues);
-    element.click();
+    runInteraction(
+        "Click " + elementName,
+        () -> {
+          WebElement element = getElement(locator, elementName, replaceValues);
+          DomSnapshot.invalidate(driver);
+          element.click();
+          return null;
+        });
   }
 
   /**
@@ -220,8 +613,14 @@ public class WebDriverHelper {
    */
   public void moveToElement(By locator, String elementName) {
     logger.info("[Actions] Moving on Element '{}'", elementName);
-    Actions actions = new Actions(driver);
-    actions.moveToElement(getElement(locator, elementName), 0, 0).perform();
+    runInteraction(
+        "Move to " + elementName,
+        () -> {
+          Actions actions = new Actions(driver);
+          DomSnapshot.invalidate(driver);
+          actions.moveToElement(getElement(locator, elementName), 0, 0).perform();
+          return null;
+        });
   }
 
   /**
@@ -237,8 +636,8 @@ public class WebDriverHelper {
    */
   public String getElementText(By locator, String elementName) {
     logger.info("Getting text from Element '{}'", elementName);
-    WebElement element = getElement(locator, elementName);
-    return element.getText();
+    return runStep(
+        "Get text of " + elementName, () -> getElement(locator, elementName).getText());
   }
 
   /**
@@ -251,8 +650,9 @@ public class WebDriverHelper {
   public String getElementText(Locator locator, String elementName, Object... replaceValues) {
     logger.info(
         "Getting text from Element '{}' with replace values '{}'", elementName, replaceValues);
-    WebElement element = getElement(locator, elementName, replaceValues);
-    return element.getText();
+    return runStep(
+        "Get text of " + elementName,
+        () -> getElement(locator, elementName, replaceValues).getText());
   }
 
   /**
@@ -266,13 +666,18 @@ public class WebDriverHelper {
   public List<WebElement> getAllWebElements(
     Locator locator, String elementName, long timeout, Object... replaceValues) {
 
-    WebDriverWait customWait = new WebDriverWait(driver, Duration.ofSeconds(timeout));
     logger.info(
         "Getting Number of Elements '{}' with replace values '{}'", elementName, replaceValues);
     By byLocator = locator.resolveBy(replaceValues);
+    if (expectedNegative.test(locator.toString())) {
+      return probeVisibleElements(byLocator, locator.toString(), elementName, timeout);
+    }
     try {
       List<WebElement> elements =
-          customWait.until(ExpectedConditions.visibilityOfAllElementsLocatedBy(byLocator));
+          awaitOptional(
+              locator.toString(),
+              timeout,
+              ExpectedConditions.visibilityOfAllElementsLocatedBy(byLocator));
       return elements;
     } catch (TimeoutException e) {
       return Collections.emptyList();
@@ -286,12 +691,60 @@ public class WebDriverHelper {
    * within the current viewport. This is useful for elements that are below the fold or outside the
    * current visible area.
    *
+   * <p>Returns after the next animation frame, once the page has handled the scroll events, so a
+   * loading indicator shown by a scroll handler, e.g. for lazy loading, is already visible.
+   *
    * @param element The WebElement to scroll into view
    * @param elementName Descriptive name of the element for logging purposes
    */
   public void scrollIntoView(WebElement element, String elementName) {
     logger.info("Scrolling into Element '{}'", elementName);
-    JavascriptExecutor javascriptExecutor = (JavascriptExecutor) driver;
-    javascriptExecutor.executeScript("arguments[0].scrollIntoView()", element);
+    runStep(
+        "Scroll to " + elementName,
+        () -> {
+          JavascriptExecutor javascriptExecutor = (JavascriptExecutor) driver;
+          DomSnapshot.invalidate(driver);
+          return javascriptExecutor.executeAsyncScript(SCROLL_INTO_VIEW_SCRIPT, element);
+        });
+  }
+
+  /**
+   * Gets an attribute of an element found before, e.g. one of a list of rows.
+   *
+   * @param element The WebElement to read
+   * @param elementName Descriptive name of the element for logging purposes
+   * @param attributeName Name of the attribute
+   * @return attribute value, or null if the element has no such attribute
+   */
+  public String getAttribute(WebElement element, String elementName, String attributeName) {
+    logger.info("Getting attribute '{}' of Element '{}'", attributeName, elementName);
+    return runStep(
+        "Get " + attributeName + " of " + elementName, () -> element.getAttribute(attributeName));
+  }
+
+  /**
+   * Takes a snapshot of the current DOM for reading many values with a single command.
+   *
+   * <p>Wait for the elements to read to be visible first: the snapshot has no layout information.
+   *
+   * @return snapshot valid until the next interaction through a helper of this driver
+   */
+  public DomSnapshot takeSnapshot() {
+    logger.info("Taking DOM snapshot for '{}'", pageName);
+    return runStep("Snapshot of " + pageName, () -> DomSnapshot.capture(driver));
+  }
+
+  /**
+   * Opens named tabs in the current session that load concurrently in the background.
+   *
+   * <p>The session stays on the current tab; use {@link TabGroup#read} to read results from a tab
+   * and close the group to return to the current tab.
+   *
+   * @param urlsByName URL of each tab by name, opened in iteration order
+   * @return group of the opened tabs
+   */
+  public TabGroup openTabs(Map<String, String> urlsByName) {
+    logger.info("Opening tabs {}", urlsByName);
+    return new TabGroup(driver, urlsByName, Duration.ofSeconds(timeoutInSeconds));
   }
 }
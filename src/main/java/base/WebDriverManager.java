@@ -1,22 +1,42 @@
 package base;
 
+import java.io.IOException;
 import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.InvalidArgumentException;
+import org.openqa.selenium.SessionNotCreatedException;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
 import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.chromium.ChromiumOptions;
+import org.openqa.selenium.chromium.HasCdp;
+import org.openqa.selenium.chromium.HasNetworkConditions;
 import org.openqa.selenium.edge.EdgeDriver;
+import org.openqa.selenium.edge.EdgeDriverService;
 import org.openqa.selenium.edge.EdgeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
 import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.firefox.GeckoDriverService;
 import org.openqa.selenium.remote.AbstractDriverOptions;
+import org.openqa.selenium.remote.Augmenter;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.HttpCommandExecutor;
 import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.service.DriverCommandExecutor;
+import org.openqa.selenium.remote.service.DriverService;
 import utils.ReadProperties;
 
 /**
@@ -32,23 +52,44 @@ import utils.ReadProperties;
  *   <li>Local and remote WebDriver execution
  *   <li>Headless mode configuration
  *   <li>Configuration-driven setup
+ *   <li>Session recording and browser-less replay ({@code driver.mode = live|record|replay})
+ *   <li>Network and CPU condition emulation in Chrome and Edge ({@code network.profile})
+ *   <li>Driver and browser binaries resolved from a lockfile instead of Selenium Manager ({@code
+ *       driver.cacheDir}, {@code driver.lockFile}, {@code driver.offline})
+ *   <li>Startup profile per session: resolution, driver spawn, handshake and first navigation
+ *   <li>Sessions recovering from infrastructure failures ({@code retry.budget})
  * </ul>
  *
+ * <h3>Record and replay:</h3>
+ *
+ * <p>In {@code record} mode the session's command/response stream is written to {@code
+ * <driver.recordingDir>/<session name>.jsonl.gz} by {@link RecordingCommandExecutor}. In {@code
+ * replay} mode no browser is started; {@link ReplayCommandExecutor} serves the recording, on a
+ * virtual clock unless {@code driver.replayOriginalTiming = true}.
+ *
  * <h3>Usage:</h3>
  *
  * <pre>{@code WebDriver driver = WebDriverManager.getDriver();}</pre>
  *
  */
 public class WebDriverManager {
-  /** Singleton WebDriver instance */
-  private static WebDriver driver;
-
   /** Logger instance for this class */
   private static final Logger logger = LogManager.getLogger(WebDriverManager.class);
 
   /** Properties reader instance for configuration */
   private static ReadProperties readProperties = ReadProperties.getInstance();
 
+  /** Driver binary cache, created on first local session */
+  private static DriverBinaryCache binaryCache;
+
+  /** Startup profile of each created driver */
+  private static final Map<WebDriver, SessionStartupProfile> startupProfiles =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
+  /** Network profile emulated by each created driver */
+  private static final Map<WebDriver, NetworkProfile> networkProfiles =
+      Collections.synchronizedMap(new WeakHashMap<>());
+
   /**
    * Generates browser-specific arguments.
    *
@@ -105,16 +146,171 @@ public class WebDriverManager {
     }
   }
 
+  /**
+   * Reads a setting from system properties, then the properties file, then the default value.
+   *
+   * @param key setting name
+   * @param defaultValue value used when the setting is not configured
+   * @return configured or default value
+   */
+  private static String getSetting(String key, String defaultValue) {
+    String value = System.getProperty(key, readProperties.getProperty(key));
+    return value == null || value.isEmpty() ? defaultValue : value;
+  }
+
+  /**
+   * Returns the driver binary cache configured by {@code driver.cacheDir}, {@code driver.lockFile}
+   * and {@code driver.offline}.
+   *
+   * @return driver binary cache
+   */
+  private static synchronized DriverBinaryCache getBinaryCache() {
+    if (binaryCache == null) {
+      Path cacheDir =
+          Paths.get(
+              getSetting(
+                  "driver.cacheDir",
+                  Paths.get(System.getProperty("user.home"), ".cache", "selenium").toString()));
+      Path lockFile =
+          Paths.get(
+              getSetting(
+                  "driver.lockFile", cacheDir.resolve("drivers.lock.properties").toString()));
+      binaryCache =
+          new DriverBinaryCache(
+              cacheDir, lockFile, Boolean.parseBoolean(getSetting("driver.offline", "false")));
+    }
+    return binaryCache;
+  }
+
+  /**
+   * Creates a driver service for a local browser, resolving the driver and browser binaries.
+   *
+   * <p>Binaries come from the {@link DriverBinaryCache} lockfile, so Selenium Manager only runs for
+   * browsers that are not locked yet.
+   *
+   * @param browser The browser type (chrome, firefox, edge)
+   * @param options Browser options, updated with the resolved browser binary
+   * @param profile Startup profile receiving the resolution time
+   * @return Driver service that is not started yet
+   */
+  private static DriverService createDriverService(
+      String browser, AbstractDriverOptions<?> options, SessionStartupProfile profile) {
+    DriverService service =
+        switch (browser) {
+          case "chrome" -> ChromeDriverService.createDefaultService();
+          case "firefox" -> GeckoDriverService.createDefaultService();
+          case "edge" -> EdgeDriverService.createDefaultService();
+          default -> throw new InvalidArgumentException("Invalid browser: " + browser);
+        };
+    long start = System.nanoTime();
+    DriverBinaryCache.Binaries binaries = getBinaryCache().resolve(browser, service, options);
+    profile.recordResolution(binaries.source(), (System.nanoTime() - start) / 1_000_000);
+    service.setExecutable(binaries.driverPath().toString());
+    if (binaries.browserPath() != null) {
+      if (options instanceof ChromiumOptions<?> chromiumOptions) {
+        chromiumOptions.setBinary(binaries.browserPath().toFile());
+      } else if (options instanceof FirefoxOptions firefoxOptions) {
+        firefoxOptions.setBinary(binaries.browserPath());
+      }
+    }
+    return service;
+  }
+
+  /**
+   * Starts a local browser session, timing the driver process spawn and the session handshake.
+   *
+   * <p>When a session cannot be created with locked binaries, e.g. because the browser was updated
+   * past the locked driver, the lock entry is evicted and the session is retried once with
+   * binaries resolved by Selenium Manager.
+   *
+   * @param browser The browser type (chrome, firefox, edge)
+   * @param options Browser options
+   * @param profile Startup profile receiving the phase timings
+   * @return Local WebDriver instance
+   */
+  private static WebDriver startLocalDriver(
+      String browser, AbstractDriverOptions<?> options, SessionStartupProfile profile) {
+    DriverService service = createDriverService(browser, options, profile);
+    boolean locked = profile.getResolutionSource().equals("lockfile");
+    try {
+      return startLocalDriver(browser, service, options, profile);
+    } catch (SessionNotCreatedException e) {
+      service.stop();
+      if (!locked || getBinaryCache().isOffline()) {
+        throw e;
+      }
+      logger.warn("Session not created with locked {} binaries, resolving again", browser, e);
+      getBinaryCache().evict(browser);
+      return startLocalDriver(
+          browser, createDriverService(browser, options, profile), options, profile);
+    }
+  }
+
+  private static WebDriver startLocalDriver(
+      String browser,
+      DriverService service,
+      AbstractDriverOptions<?> options,
+      SessionStartupProfile profile) {
+    long start = System.nanoTime();
+    try {
+      service.start();
+    } catch (IOException e) {
+      throw new SessionNotCreatedException("Unable to start driver " + service.getExecutable(), e);
+    }
+    profile.recordSpawn((System.nanoTime() - start) / 1_000_000);
+    start = System.nanoTime();
+    WebDriver driver =
+        switch (browser) {
+          case "chrome" -> new ChromeDriver((ChromeDriverService) service, (ChromeOptions) options);
+          case "firefox" ->
+              new FirefoxDriver((GeckoDriverService) service, (FirefoxOptions) options);
+          case "edge" -> new EdgeDriver((EdgeDriverService) service, (EdgeOptions) options);
+          default -> throw new InvalidArgumentException("Invalid browser: " + browser);
+        };
+    profile.recordHandshake((System.nanoTime() - start) / 1_000_000);
+    return driver;
+  }
+
   /**
    * Creates a WebDriver instance based on configuration.
    *
    * <p>Main entry point for WebDriver instances. Supports local and remote execution. Configuration
-   * via system properties or properties files.
+   * via system properties or properties files. Every call creates a new session, so threads can
+   * create drivers concurrently.
    *
    * @return Configured WebDriver instance
    * @throws InvalidArgumentException if configuration is invalid
    */
   public static WebDriver getDriver() {
+    return getDriver("session");
+  }
+
+  /**
+   * Creates a WebDriver instance based on configuration for a named session.
+   *
+   * <p>The session name identifies the recording file in {@code record} and {@code replay} modes.
+   * The network profile is taken from {@code network.profile}.
+   *
+   * @param sessionName Name of the session, e.g. the test class and method
+   * @return Configured WebDriver instance
+   * @throws InvalidArgumentException if configuration is invalid
+   * @throws WebDriverException if the recording file cannot be opened
+   */
+  public static WebDriver getDriver(String sessionName) {
+    return getDriver(sessionName, null);
+  }
+
+  /**
+   * Creates a WebDriver instance for a named session emulating a network profile.
+   *
+   * @param sessionName Name of the session, e.g. the test class and method
+   * @param networkProfile Network profile to emulate, or null for {@code network.profile}
+   * @return Configured WebDriver instance
+   * @throws InvalidArgumentException if configuration is invalid or the browser cannot emulate
+   *     the profile
+   * @throws WebDriverException if the recording file cannot be opened
+   */
+  public static WebDriver getDriver(String sessionName, NetworkProfile networkProfile) {
     String gridUrl = System.getProperty("grid.url", readProperties.getProperty("grid.url"));
     String browser =
         System.getProperty("browser", readProperties.getProperty("browser")).toLowerCase();
@@ -125,36 +321,149 @@ public class WebDriverManager {
     logger.info("Set up browser {} with headless {}, grid URL: {}", browser, headless, gridUrl);
 
     AbstractDriverOptions<?> options = getOptions(browser, headless);
+    String mode = getSetting("driver.mode", "live").toLowerCase();
+    SessionStartupProfile profile = new SessionStartupProfile(sessionName, browser);
+    WebDriver driver;
+    Path recordingFile =
+        Paths.get(getSetting("driver.recordingDir", "test-results/recordings"))
+            .resolve(sessionName + ".jsonl.gz");
     try {
-      if (gridUrl != null && !gridUrl.isEmpty()) {
+      if (mode.equals("replay")) {
+        boolean originalTiming =
+            Boolean.parseBoolean(getSetting("driver.replayOriginalTiming", "false"));
+        driver =
+            new RemoteWebDriver(new ReplayCommandExecutor(recordingFile, originalTiming), options);
+        logger.info("Replaying recorded session {}", recordingFile);
+      } else if (mode.equals("record")) {
+        CommandExecutor executor;
+        if (gridUrl != null && !gridUrl.isEmpty()) {
+          executor = new HttpCommandExecutor(URI.create(gridUrl).toURL());
+        } else {
+          DriverService service = createDriverService(browser, options, profile);
+          long start = System.nanoTime();
+          service.start();
+          profile.recordSpawn((System.nanoTime() - start) / 1_000_000);
+          executor = new DriverCommandExecutor(service);
+        }
+        long start = System.nanoTime();
+        driver =
+            new RemoteWebDriver(new RecordingCommandExecutor(executor, recordingFile), options);
+        profile.recordHandshake((System.nanoTime() - start) / 1_000_000);
+      } else if (gridUrl != null && !gridUrl.isEmpty()) {
         // Use Selenium Grid Remote WebDriver
         URL hubUrl = URI.create(gridUrl).toURL();
+        long start = System.nanoTime();
         driver = new RemoteWebDriver(hubUrl, options);
+        profile.recordHandshake((System.nanoTime() - start) / 1_000_000);
         logger.info("Connected to Selenium Grid at: {}", gridUrl);
       } else {
-        // Use local WebDriver
-        switch (browser) {
-          case "chrome":
-            driver = new ChromeDriver((ChromeOptions) options);
-            break;
-
-          case "firefox":
-            driver = new FirefoxDriver((FirefoxOptions) options);
-            break;
-
-          case "edge":
-            driver = new EdgeDriver((EdgeOptions) options);
-            break;
-
-          default:
-            throw new InvalidArgumentException("Invalid browser: " + browser);
-        }
+        // Use local WebDriver with binaries from the lockfile
+        driver = startLocalDriver(browser, options, profile);
         logger.info("Using local WebDriver");
       }
     } catch (MalformedURLException | IllegalArgumentException e) {
       throw new InvalidArgumentException("Invalid grid URL: " + gridUrl, e);
+    } catch (IOException e) {
+      throw new WebDriverException("Unable to open session recording " + recordingFile, e);
     }
 
+    if (networkProfile == null) {
+      networkProfile = NetworkProfile.fromName(getSetting("network.profile", "none"));
+    }
+    try {
+      applyNetworkProfile(driver, networkProfile);
+    } catch (RuntimeException e) {
+      driver.quit();
+      throw e;
+    }
+    networkProfiles.put(driver, networkProfile);
+    startupProfiles.put(driver, profile);
+    logger.info("Session started: {}", profile);
     return driver;
   }
+
+  /**
+   * Tells whether the configured browser can emulate a {@link NetworkProfile}.
+   *
+   * @return true for Chrome and Edge
+   */
+  public static boolean supportsNetworkEmulation() {
+    String browser = getSetting("browser", "chrome").toLowerCase();
+    return browser.equals("chrome") || browser.equals("edge");
+  }
+
+  /**
+   * Creates a WebDriver that reruns steps failed on infrastructure errors, replacing the session
+   * when it is lost.
+   *
+   * <p>Only live sessions are recoverable, and only when the {@link RetryBudget} of the run allows
+   * retries; otherwise the plain driver is returned. Creating the session is retried after
+   * infrastructure failures, such as a Grid without free slots, within the same budget. A
+   * replacement session is created with the same name and network profile.
+   *
+   * @param sessionName name of the session, e.g. the test class and method
+   * @param networkProfile network profile to emulate, or null to use {@code network.profile}
+   * @return recoverable WebDriver proxy, or the plain driver
+   * @see RecoverableSession
+   */
+  public static WebDriver getRecoverableDriver(String sessionName, NetworkProfile networkProfile) {
+    if (!RetryBudget.getInstance().isEnabled()
+        || !getSetting("driver.mode", "live").equalsIgnoreCase("live")) {
+      return getDriver(sessionName, networkProfile);
+    }
+    return RecoverableSession.start(() -> getDriver(sessionName, networkProfile));
+  }
+
+  /**
+   * Returns the startup profile of a driver created by this manager.
+   *
+   * @param driver WebDriver instance
+   * @return startup profile, or a new empty profile for unknown drivers
+   */
+  public static SessionStartupProfile getStartupProfile(WebDriver driver) {
+    SessionStartupProfile profile = startupProfiles.get(unwrap(driver));
+    return profile != null ? profile : new SessionStartupProfile("unknown", "unknown");
+  }
+
+  /**
+   * Returns the network profile emulated by a driver created by this manager.
+   *
+   * @param driver WebDriver instance
+   * @return emulated profile, {@link NetworkProfile#NONE} for unknown drivers
+   */
+  public static NetworkProfile getNetworkProfile(WebDriver driver) {
+    return networkProfiles.getOrDefault(unwrap(driver), NetworkProfile.NONE);
+  }
+
+  /** Returns the current session behind a {@link RecoverableSession} proxy. */
+  private static WebDriver unwrap(WebDriver driver) {
+    return driver instanceof WrapsDriver wrapsDriver ? wrapsDriver.getWrappedDriver() : driver;
+  }
+
+  /**
+   * Applies the network conditions and CPU throttling of a profile to a Chromium session.
+   *
+   * <p>Remote sessions are augmented to reach the Chromium-specific endpoints.
+   *
+   * @param driver WebDriver instance
+   * @param profile Network profile to emulate
+   * @throws InvalidArgumentException if the browser does not support network emulation
+   */
+  private static void applyNetworkProfile(WebDriver driver, NetworkProfile profile) {
+    if (profile == NetworkProfile.NONE) {
+      return;
+    }
+    WebDriver chromium =
+        driver instanceof HasNetworkConditions ? driver : new Augmenter().augment(driver);
+    if (!(chromium instanceof HasNetworkConditions networkConditions)) {
+      throw new InvalidArgumentException(
+          "Network profile " + profile + " requires Chrome or Edge, not " + driver);
+    }
+    networkConditions.setNetworkConditions(profile.toNetworkConditions());
+    if (profile.getCpuSlowdown() > 1 && chromium instanceof HasCdp cdp) {
+      cdp.executeCdpCommand(
+          "Emulation.setCPUThrottlingRate", Map.of("rate", profile.getCpuSlowdown()));
+    }
+    logger.info("Emulating network profile {}", profile);
+  }
 }
@@ -0,0 +1,77 @@
+package load;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Thread-safe latency histogram with logarithmic buckets and constant memory.
+ *
+ * <p>Records microsecond latencies from 1 microsecond up to about 10 minutes into buckets 1%
+ * wide, so reported percentiles are within 1% of the exact value regardless of the sample count.
+ * Longer latencies fall into the last bucket and are reported as about 10 minutes.
+ */
+public class LatencyHistogram {
+
+  /** Relative width of a bucket */
+  private static final double BUCKET_GROWTH = 1.01;
+
+  /** Number of buckets, covering 1 microsecond to 1.01^2032 microseconds, about 10 minutes */
+  private static final int BUCKET_COUNT = 2032;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+  private final AtomicLong count = new AtomicLong();
+  private final AtomicLong maxMicros = new AtomicLong();
+
+  /**
+   * Records one latency.
+   *
+   * @param micros latency in microseconds
+   */
+  public void record(long micros) {
+    long value = Math.max(1, micros);
+    int bucket = (int) Math.min(BUCKET_COUNT - 1, Math.log(value) / Math.log(BUCKET_GROWTH));
+    buckets.incrementAndGet(bucket);
+    count.incrementAndGet();
+    maxMicros.accumulateAndGet(value, Math::max);
+  }
+
+  /**
+   * Returns the number of recorded latencies.
+   *
+   * @return sample count
+   */
+  public long getCount() {
+    return count.get();
+  }
+
+  /**
+   * Returns the largest recorded latency.
+   *
+   * @return maximum latency in microseconds
+   */
+  public long getMaxMicros() {
+    return maxMicros.get();
+  }
+
+  /**
+   * Returns the latency at a percentile.
+   *
+   * @param percentile percentile between 0 and 100
+   * @return upper bound of the bucket holding the percentile in microseconds, 0 without samples
+   */
+  public long getPercentileMicros(double percentile) {
+    long total = count.get();
+    if (total == 0) {
+      return 0;
+    }
+    long rank = (long) Math.ceil(percentile / 100 * total);
+    long seen = 0;
+    for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+      seen += buckets.get(bucket);
+      if (seen >= rank) {
+        return Math.min(maxMicros.get(), (long) Math.pow(BUCKET_GROWTH, bucket + 1));
+      }
+    }
+    return maxMicros.get();
+  }
+}
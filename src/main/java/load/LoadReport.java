@@ -0,0 +1,134 @@
+package load;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Throughput, latency percentiles and error counts of a {@link LoadRunner} run, per step and in
+ * total.
+ */
+public class LoadReport {
+
+  /** Logger instance for this class */
+  private static final Logger logger = LogManager.getLogger(LoadReport.class);
+
+  private final int users;
+  private final Duration elapsed;
+  private final Map<String, LatencyHistogram> latencies;
+  private final Map<String, AtomicLong> errors;
+
+  /**
+   * Constructs a report.
+   *
+   * @param users number of simulated users
+   * @param elapsed wall-clock duration of the run
+   * @param latencies latency histogram per step
+   * @param errors error count per step
+   */
+  LoadReport(
+      int users,
+      Duration elapsed,
+      Map<String, LatencyHistogram> latencies,
+      Map<String, AtomicLong> errors) {
+    this.users = users;
+    this.elapsed = elapsed;
+    this.latencies = latencies;
+    this.errors = errors;
+  }
+
+  /**
+   * Returns the number of requests of a step that got a response.
+   *
+   * @param step step name (login, dashboard, applications)
+   * @return response count
+   */
+  public long getRequests(String step) {
+    return latencies.get(step).getCount();
+  }
+
+  /**
+   * Returns the number of failed requests of a step.
+   *
+   * @param step step name (login, dashboard, applications)
+   * @return count of I/O failures and non-2xx responses
+   */
+  public long getErrors(String step) {
+    return errors.get(step).get();
+  }
+
+  /**
+   * Returns the total number of failed requests.
+   *
+   * @return error count across all steps
+   */
+  public long getTotalErrors() {
+    return errors.values().stream().mapToLong(AtomicLong::get).sum();
+  }
+
+  /**
+   * Returns the throughput of a step.
+   *
+   * @param step step name (login, dashboard, applications)
+   * @return responses per second over the whole run
+   */
+  public double getThroughput(String step) {
+    return getRequests(step) / Math.max(0.001, elapsed.toMillis() / 1000.0);
+  }
+
+  /**
+   * Returns the latency of a step at a percentile.
+   *
+   * @param step step name (login, dashboard, applications)
+   * @param percentile percentile between 0 and 100
+   * @return latency in milliseconds
+   */
+  public double getLatencyMillis(String step, double percentile) {
+    return latencies.get(step).getPercentileMicros(percentile) / 1000.0;
+  }
+
+  /**
+   * Returns the report as an ordered map for JSON serialization.
+   *
+   * @return report values
+   */
+  public Map<String, Object> toMap() {
+    Map<String, Object> steps = new LinkedHashMap<>();
+    for (String step : latencies.keySet()) {
+      Map<String, Object> stats = new LinkedHashMap<>();
+      stats.put("requests", getRequests(step));
+      stats.put("errors", getErrors(step));
+      stats.put("throughputPerSecond", getThroughput(step));
+      stats.put("p50Millis", getLatencyMillis(step, 50));
+      stats.put("p90Millis", getLatencyMillis(step, 90));
+      stats.put("p95Millis", getLatencyMillis(step, 95));
+      stats.put("p99Millis", getLatencyMillis(step, 99));
+      stats.put("maxMillis", latencies.get(step).getMaxMicros() / 1000.0);
+      steps.put(step, stats);
+    }
+    Map<String, Object> report = new LinkedHashMap<>();
+    report.put("users", users);
+    report.put("elapsedMillis", elapsed.toMillis());
+    report.put("steps", steps);
+    return report;
+  }
+
+  /** Logs one summary line per step. */
+  public void log() {
+    logger.info("Load of {} users finished in {} ms", users, elapsed.toMillis());
+    for (String step : latencies.keySet()) {
+      logger.info(
+          "{}: {} requests ({} errors), {} req/s, p50 {} ms, p95 {} ms, p99 {} ms",
+          step,
+          getRequests(step),
+          getErrors(step),
+          String.format("%.1f", getThroughput(step)),
+          getLatencyMillis(step, 50),
+          getLatencyMillis(step, 95),
+          getLatencyMillis(step, 99));
+    }
+  }
+}
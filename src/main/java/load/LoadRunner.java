@@ -0,0 +1,283 @@
+package load;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import utils.ReadProperties;
+
+/**
+ * LoadRunner - Headless protocol-level load generator for the login and dashboard flows.
+ *
+ * <p>Replays the HTTP calls behind {@code LoginPage.login()}, the dashboard card counts and the
+ * applications listing with {@link HttpClient}, one thread per simulated user, and reports
+ * throughput and latency percentiles per step. Users run on virtual threads when the runtime
+ * supports them (Java 21+) and on platform threads otherwise.
+ *
+ * <h3>Configuration:</h3>
+ *
+ * <pre>
+ *   url, email, password                      # shared with the browser tests
+ *   load.users = 100                          # concurrent simulated users
+ *   load.durationInSeconds = 60               # how long each user keeps iterating
+ *   load.rampUpInSeconds = 10                 # users start evenly over this period
+ *   load.thinkTimeMillis = 0                  # pause between two iterations of a user
+ *   load.loginPath = api/login                # POST {"email": ..., "password": ...}
+ *   load.dashboardPath = api/dashboard/cards  # GET, authenticated with the login cookies
+ *   load.applicationsPath = api/applications?page=0&amp;offset=0
+ * </pre>
+ *
+ * <p>Each property can be overridden with a system property of the same name. The default paths
+ * match the endpoints of the offline fixture application.
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * LoadReport report = LoadRunner.fromProperties().withUsers(200).run();
+ * }</pre>
+ */
+public class LoadRunner {
+
+  /** Logger instance for this class */
+  private static final Logger logger = LogManager.getLogger(LoadRunner.class);
+
+  private static final Json json = new Json();
+
+  /** Steps of one iteration of a simulated user */
+  private static final List<String> STEPS = List.of("login", "dashboard", "applications");
+
+  private URI baseUrl;
+  private String email;
+  private String password;
+  private int users;
+  private Duration duration;
+  private Duration rampUp;
+  private Duration thinkTime;
+  private final Map<String, String> stepPaths = new LinkedHashMap<>();
+
+  private final Map<String, LatencyHistogram> latencies = new LinkedHashMap<>();
+  private final Map<String, AtomicLong> errors = new LinkedHashMap<>();
+  private HttpClient httpClient;
+
+  /** Private constructor to enforce the use of {@link #fromProperties()}. */
+  private LoadRunner() {
+    for (String step : STEPS) {
+      latencies.put(step, new LatencyHistogram());
+      errors.put(step, new AtomicLong());
+    }
+  }
+
+  /**
+   * Creates a load runner configured from the environment properties.
+   *
+   * @return Configured LoadRunner
+   */
+  public static LoadRunner fromProperties() {
+    ReadProperties readProperties = ReadProperties.getInstance();
+    LoadRunner runner = new LoadRunner();
+    runner.baseUrl = URI.create(getSetting(readProperties, "url", ""));
+    runner.email = getSetting(readProperties, "email", "");
+    runner.password = getSetting(readProperties, "password", "");
+    runner.users = Integer.parseInt(getSetting(readProperties, "load.users", "100"));
+    runner.duration =
+        Duration.ofSeconds(
+            Long.parseLong(getSetting(readProperties, "load.durationInSeconds", "60")));
+    runner.rampUp =
+        Duration.ofSeconds(
+            Long.parseLong(getSetting(readProperties, "load.rampUpInSeconds", "10")));
+    runner.thinkTime =
+        Duration.ofMillis(
+            Long.parseLong(getSetting(readProperties, "load.thinkTimeMillis", "0")));
+    runner.stepPaths.put("login", getSetting(readProperties, "load.loginPath", "api/login"));
+    runner.stepPaths.put(
+        "dashboard", getSetting(readProperties, "load.dashboardPath", "api/dashboard/cards"));
+    runner.stepPaths.put(
+        "applications",
+        getSetting(readProperties, "load.applicationsPath", "api/applications?page=0&offset=0"));
+    return runner;
+  }
+
+  public LoadRunner withBaseUrl(URI baseUrl) {
+    this.baseUrl = baseUrl;
+    return this;
+  }
+
+  public LoadRunner withUsers(int users) {
+    this.users = users;
+    return this;
+  }
+
+  public LoadRunner withDuration(Duration duration) {
+    this.duration = duration;
+    return this;
+  }
+
+  public LoadRunner withRampUp(Duration rampUp) {
+    this.rampUp = rampUp;
+    return this;
+  }
+
+  /**
+   * Runs the load test and blocks until every simulated user finished.
+   *
+   * @return Throughput and latency report per step
+   * @throws InterruptedException if interrupted while waiting for the users
+   */
+  public LoadReport run() throws InterruptedException {
+    logger.info(
+        "Starting load of {} users for {} s (ramp-up {} s) against {}",
+        users,
+        duration.toSeconds(),
+        rampUp.toSeconds(),
+        baseUrl);
+    httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+    long start = System.nanoTime();
+    ExecutorService executor = newUserExecutor();
+    try {
+      for (int user = 0; user < users; user++) {
+        Duration startDelay = rampUp.multipliedBy(user).dividedBy(Math.max(1, users));
+        executor.execute(() -> runUser(startDelay, start));
+      }
+      executor.shutdown();
+      executor.awaitTermination(
+          duration.plus(rampUp).plusMinutes(1).toMillis(), TimeUnit.MILLISECONDS);
+    } finally {
+      executor.shutdownNow();
+    }
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    LoadReport report = new LoadReport(users, elapsed, latencies, errors);
+    report.log();
+    return report;
+  }
+
+  /**
+   * Runs the iterations of one simulated user until the load duration elapsed.
+   *
+   * @param startDelay delay before the user's first iteration
+   * @param start start of the load test in {@link System#nanoTime()} units
+   */
+  private void runUser(Duration startDelay, long start) {
+    long deadline = start + startDelay.plus(duration).toNanos();
+    try {
+      Thread.sleep(startDelay.toMillis());
+      while (System.nanoTime() < deadline) {
+        String cookies = login();
+        if (cookies != null) {
+          timedGet("dashboard", cookies);
+          timedGet("applications", cookies);
+        }
+        Thread.sleep(thinkTime.toMillis());
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  /**
+   * Posts the credentials like {@code LoginPage.login()} does.
+   *
+   * @return session cookies for the following requests, or null if the login failed
+   * @throws InterruptedException if interrupted while waiting for the response
+   */
+  private String login() throws InterruptedException {
+    String body = json.toJson(Map.of("email", email, "password", password));
+    HttpRequest request =
+        HttpRequest.newBuilder(baseUrl.resolve(stepPaths.get("login")))
+            .header("Content-Type", "application/json")
+            .POST(HttpRequest.BodyPublishers.ofString(body))
+            .build();
+    HttpResponse<Void> response = send("login", request);
+    if (response == null) {
+      return null;
+    }
+    return response.headers().allValues("Set-Cookie").stream()
+        .map(cookie -> cookie.split(";", 2)[0])
+        .collect(Collectors.joining("; "));
+  }
+
+  private void timedGet(String step, String cookies) throws InterruptedException {
+    HttpRequest.Builder builder = HttpRequest.newBuilder(baseUrl.resolve(stepPaths.get(step)));
+    if (!cookies.isEmpty()) {
+      builder.header("Cookie", cookies);
+    }
+    send(step, builder.GET().build());
+  }
+
+  /**
+   * Sends a request and records its latency, or an error for failures and non-2xx statuses.
+   *
+   * @param step step name the request belongs to
+   * @param request request to send
+   * @return the response, or null if the request failed
+   * @throws InterruptedException if interrupted while waiting for the response
+   */
+  private HttpResponse<Void> send(String step, HttpRequest request) throws InterruptedException {
+    long requestStart = System.nanoTime();
+    try {
+      HttpResponse<Void> response =
+          httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+      latencies.get(step).record((System.nanoTime() - requestStart) / 1_000);
+      if (response.statusCode() / 100 != 2) {
+        errors.get(step).incrementAndGet();
+        return null;
+      }
+      return response;
+    } catch (IOException e) {
+      errors.get(step).incrementAndGet();
+      logger.debug("Request of step '{}' failed", step, e);
+      return null;
+    }
+  }
+
+  /**
+   * Creates the executor running one thread per simulated user, using virtual threads when the
+   * runtime provides them.
+   *
+   * @return thread-per-task executor
+   */
+  private static ExecutorService newUserExecutor() {
+    try {
+      return (ExecutorService)
+          Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+    } catch (ReflectiveOperationException e) {
+      logger.info("Virtual threads are not available, simulating users on platform threads");
+      return Executors.newCachedThreadPool();
+    }
+  }
+
+  private static String getSetting(ReadProperties readProperties, String key, String defaultValue) {
+    String value = System.getProperty(key, readProperties.getProperty(key));
+    return value == null || value.isEmpty() ? defaultValue : value;
+  }
+
+  /**
+   * Runs a load test configured from the environment properties and writes the report to {@code
+   * test-results/load-report.json}.
+   *
+   * @param args unused
+   * @throws Exception if the load test or writing the report fails
+   */
+  public static void main(String[] args) throws Exception {
+    LoadReport report = fromProperties().run();
+    Path reportFile = Paths.get("test-results", "load-report.json");
+    Files.createDirectories(reportFile.getParent());
+    Files.writeString(reportFile, json.toJson(report.toMap()));
+    logger.info("Load report written to {}", reportFile);
+  }
+}
@@ -1,6 +1,10 @@
 package pages;
 
+import base.DomSnapshot;
+import base.ExpectedNegative;
 import base.Locator;
+import base.PerformanceBudget;
+import io.qameta.allure.Step;
 import java.util.List;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
@@ -24,15 +28,34 @@ public class ApplicationsPage extends BasePage {
   private By tableContainer = By.xpath("//*[contains(@class, 'tableContainer')]");
   private Locator tableRowWithDataKey =
       Locator.xpath("//*[@data-key > '%s'][descendant::*[@role='row']]");
+  @ExpectedNegative
+  private Locator nextTableRow =
+      Locator.xpath("(//*[@data-key > '%s'][descendant::*[@role='row']])[1]");
+  private By tableLoadingIndicator = By.cssSelector(".tableContainer ~ [role='progressbar']");
+  private By tableRowNameCell =
+      By.cssSelector("[data-key] [role='row'] > [role='cell']:first-child");
+  @ExpectedNegative
   private By tableNextPageIcon =
       By.xpath(
           "//button[contains(@class, 'footerButton')][last()][not(contains(@class, 'disabled'))]");
 
-  /** Waits for applications page elements to load. */
+  /**
+   * Declares the client-side performance budget of the applications page.
+   *
+   * @return applications page performance budget
+   */
+  @Override
+  protected PerformanceBudget getPerformanceBudget() {
+    return PerformanceBudget.warning().maxLcpMillis(2500).maxCls(0.1).maxRequests(200);
+  }
+
+  /** Waits for applications page elements to load and collects its performance metrics. */
+  @Step("Wait for the applications page to load")
   public void waitForApplicationsPageToLoad() {
     webDriverHelper.waitForElementToVisible(applicationsHeader, "Applications Header");
     webDriverHelper.waitForElementToVisible(cardContainer, "Card Container");
     webDriverHelper.waitForElementToVisible(tableContainer, "Table Container");
+    collectPerformanceMetrics();
   }
 
   /**
@@ -40,27 +63,35 @@ public class ApplicationsPage extends BasePage {
    *
    * <p>Iterates through each page, collects all rows, and clicks the next page icon until no more
    * pages are available. Uses the last row's data-key to fetch subsequent rows and scrolls into
-   * view for each last row.
+   * view for each last row. After each scroll, waits for the table loading indicator to clear and
+   * checks once, without waiting, whether a further row was loaded; none means the end of the
+   * page.
    *
    * @return Total number of application rows across all pages
    */
+  @Step("Count application rows across all pages")
   public int getApplicationsRowCount() {
     int totalRows = 0;
     while (true) {
       String lastRowDataKey = "-1";
-      while (true) {
-        List<WebElement> rows =
-            webDriverHelper.getAllWebElements(
-                tableRowWithDataKey, "Table Rows with Data Key", 10, lastRowDataKey);
-        if (rows.isEmpty()) {
-          break;
-        }
+      List<WebElement> rows =
+          webDriverHelper.getAllWebElements(
+              tableRowWithDataKey, "Table Rows with Data Key", 10, lastRowDataKey);
+      while (!rows.isEmpty()) {
         totalRows += rows.size();
 
         WebElement lastRow = rows.get(rows.size() - 1);
-        lastRowDataKey = lastRow.getAttribute("data-key");
+        lastRowDataKey = webDriverHelper.getAttribute(lastRow, "Last Visible Row", "data-key");
 
         webDriverHelper.scrollIntoView(lastRow, "Last Visible Row");
+        webDriverHelper.waitForElementToDisappear(
+            tableLoadingIndicator, "Table Loading Indicator");
+        if (!webDriverHelper.isElementVisibleNow(nextTableRow, "Next Table Row", lastRowDataKey)) {
+          break;
+        }
+        rows =
+            webDriverHelper.getAllWebElements(
+                tableRowWithDataKey, "Table Rows with Data Key", 10, lastRowDataKey);
       }
 
       if (!webDriverHelper.isElementVisible(tableNextPageIcon, "Enabled Table Next Page Icon", 5)) {
@@ -71,4 +102,19 @@ public class ApplicationsPage extends BasePage {
     }
     return totalRows;
   }
+
+  /**
+   * Returns the names of the application rows loaded on the current table page.
+   *
+   * <p>Reads all names from one {@link DomSnapshot} instead of one command per row, once the first
+   * row is visible. Rows not loaded yet by lazy loading are not included.
+   *
+   * @return application names in table order
+   */
+  @Step("Read the loaded application names")
+  public List<String> getLoadedApplicationNames() {
+    webDriverHelper.waitForElementToVisible(tableRowWithDataKey, "Table Rows with Data Key", "-1");
+    DomSnapshot snapshot = webDriverHelper.takeSnapshot();
+    return snapshot.getTexts(tableRowNameCell);
+  }
 }
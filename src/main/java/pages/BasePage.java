@@ -1,9 +1,25 @@
 package pages;
 
+import base.ExpectedNegative;
+import base.NetworkProfile;
+import base.PagePerformanceMetrics;
+import base.PerformanceBudget;
+import base.TabGroup;
 import base.WebDriverHelper;
+import base.WebDriverManager;
+import io.qameta.allure.Allure;
+import java.lang.reflect.Field;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.json.Json;
 import utils.ReadProperties;
 
 /** Abstract base class for page objects. */
@@ -13,15 +29,177 @@ public class BasePage {
   protected final WebDriverHelper webDriverHelper;
   protected static final Logger logger = LogManager.getLogger();
   protected ReadProperties readProperties = ReadProperties.getInstance();
+  protected final NetworkProfile networkProfile;
+
+  /** Metrics collected by the page objects of each thread since the last drain */
+  private static final ThreadLocal<List<CollectedMetrics>> collectedMetrics =
+      ThreadLocal.withInitial(ArrayList::new);
+
+  /**
+   * Performance metrics collected by a page object.
+   *
+   * @param page page object name
+   * @param networkProfile network profile emulated during collection
+   * @param json metrics as JSON
+   */
+  public record CollectedMetrics(String page, NetworkProfile networkProfile, String json) {}
+
+  /** Whether this page object collects performance metrics, read from the configuration if null */
+  private Boolean performanceMetricsEnabled;
+
+  /** Descriptions of locator fields annotated with {@link ExpectedNegative}, resolved lazily */
+  private Set<String> expectedNegativeLocators;
 
   /**
    * Constructs BasePage and initializes helpers.
    *
+   * <p>Adaptive wait history is kept per network profile, so waits learned on a fast link are not
+   * applied to an emulated slow one.
+   *
    * @param driver WebDriver instance
    */
   public BasePage(WebDriver driver) {
     this.driver = driver;
+    this.networkProfile = WebDriverManager.getNetworkProfile(driver);
     long timeoutInSeconds = Long.parseLong(readProperties.getProperty("timeoutInSeconds"));
-    this.webDriverHelper = new WebDriverHelper(driver, timeoutInSeconds);
+    String pageName = getClass().getSimpleName();
+    if (networkProfile != NetworkProfile.NONE) {
+      pageName += "@" + networkProfile.getName();
+    }
+    this.webDriverHelper =
+        new WebDriverHelper(driver, timeoutInSeconds, pageName, this::isExpectedNegative);
+  }
+
+  /**
+   * Checks whether a locator is declared as {@link ExpectedNegative} by this page object.
+   *
+   * <p>Annotated fields are collected on first use, after the subclass fields are initialized.
+   *
+   * @param locatorDescription locator description as returned by {@code toString()}
+   * @return true if the locator is declared as expected negative
+   */
+  private synchronized boolean isExpectedNegative(String locatorDescription) {
+    if (expectedNegativeLocators == null) {
+      expectedNegativeLocators = new HashSet<>();
+      for (Class<?> type = getClass(); type != BasePage.class; type = type.getSuperclass()) {
+        for (Field field : type.getDeclaredFields()) {
+          if (field.isAnnotationPresent(ExpectedNegative.class)) {
+            try {
+              field.setAccessible(true);
+              expectedNegativeLocators.add(String.valueOf(field.get(this)));
+            } catch (IllegalAccessException e) {
+              logger.warn("Unable to read expected negative locator '{}'", field.getName(), e);
+            }
+          }
+        }
+      }
+    }
+    return expectedNegativeLocators.contains(locatorDescription);
+  }
+
+  /**
+   * Returns and forgets the performance metrics collected on the current thread, e.g. to save them
+   * per test.
+   *
+   * @return metrics in collection order
+   */
+  public static List<CollectedMetrics> drainCollectedMetrics() {
+    List<CollectedMetrics> metrics = collectedMetrics.get();
+    collectedMetrics.remove();
+    return metrics;
+  }
+
+  /**
+   * Enables or disables performance metrics collection for this page object only, overriding
+   * {@code performance.metrics.enabled}.
+   *
+   * @param enabled whether {@link #collectPerformanceMetrics()} collects metrics
+   */
+  public void setPerformanceMetricsEnabled(boolean enabled) {
+    this.performanceMetricsEnabled = enabled;
+  }
+
+  /**
+   * Returns the client-side performance budget of this page.
+   *
+   * <p>Page objects override this to declare limits checked by {@link
+   * #collectPerformanceMetrics()}.
+   *
+   * @return performance budget, or null when the page declares none
+   */
+  protected PerformanceBudget getPerformanceBudget() {
+    return null;
+  }
+
+  /**
+   * Collects client-side performance metrics once the page is ready and checks the page budget.
+   *
+   * <p>Enabled by {@code performance.metrics.enabled}, or per page object by {@link
+   * #setPerformanceMetricsEnabled(boolean)}. Metrics are attached to the Allure report and kept
+   * for the test code, see {@link #drainCollectedMetrics()}. A violated failing budget throws an
+   * {@link AssertionError}; a warning budget is only logged and attached. Budgets describe the
+   * unthrottled page and are not checked while a network profile is emulated.
+   *
+   * @return collected metrics, or null when collection is disabled
+   * @throws AssertionError if a failing budget is exceeded
+   */
+  protected PagePerformanceMetrics collectPerformanceMetrics() {
+    if (performanceMetricsEnabled == null) {
+      String enabledKey = "performance.metrics.enabled";
+      performanceMetricsEnabled =
+          Boolean.parseBoolean(
+              System.getProperty(enabledKey, readProperties.getProperty(enabledKey)));
+    }
+    if (!performanceMetricsEnabled) {
+      return null;
+    }
+    String pageName = getClass().getSimpleName();
+    PagePerformanceMetrics metrics = PagePerformanceMetrics.collect(driver, pageName);
+    Map<String, Object> metricsMap = metrics.toMap();
+    metricsMap.put("networkProfile", networkProfile.getName());
+    String metricsJson = new Json().toJson(metricsMap);
+    logger.info(
+        "Performance of '{}' on network profile {}: LCP {} ms, CLS {}, {} requests",
+        pageName,
+        networkProfile,
+        metrics.getLcpMillis(),
+        metrics.getCls(),
+        metrics.getRequestCount());
+
+    collectedMetrics.get().add(new CollectedMetrics(pageName, networkProfile, metricsJson));
+    Allure.addAttachment(
+        pageName + " - Performance Metrics (" + networkProfile + ")",
+        "application/json",
+        metricsJson,
+        ".json");
+
+    PerformanceBudget budget =
+        networkProfile == NetworkProfile.NONE ? getPerformanceBudget() : null;
+    List<String> violations = budget == null ? List.of() : budget.check(metrics);
+    if (!violations.isEmpty()) {
+      String message = "Performance budget of '" + pageName + "' exceeded: " + violations;
+      Allure.addAttachment(pageName + " - Performance Budget Violations", message);
+      if (budget.isFailOnViolation()) {
+        throw new AssertionError(message);
+      }
+      logger.warn(message);
+    }
+    return metrics;
+  }
+
+  /**
+   * Opens application pages in named tabs of this session, loading concurrently.
+   *
+   * <p>Paths are resolved against the configured {@code url}, so tabs share the login of the
+   * current tab. Intended for read-only checks: close the group to return to this page.
+   *
+   * @param pathsByName application path of each tab by name, e.g. {@code applications}
+   * @return group of the opened tabs
+   */
+  public TabGroup openTabs(Map<String, String> pathsByName) {
+    URI baseUrl = URI.create(readProperties.getProperty("url"));
+    Map<String, String> urlsByName = new LinkedHashMap<>();
+    pathsByName.forEach((name, path) -> urlsByName.put(name, baseUrl.resolve(path).toString()));
+    return webDriverHelper.openTabs(urlsByName);
   }
 }
@@ -1,6 +1,9 @@
 package pages;
 
 import base.Locator;
+import base.PerformanceBudget;
+import base.RecoverableSession;
+import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
@@ -26,16 +29,41 @@ public class DashboardPage extends BasePage {
     super(driver);
   }
 
+  /**
+   * Declares the client-side performance budget of the dashboard.
+   *
+   * @return dashboard performance budget
+   */
+  @Override
+  protected PerformanceBudget getPerformanceBudget() {
+    return PerformanceBudget.warning().maxLcpMillis(2500).maxCls(0.1).maxRequests(150);
+  }
+
   /**
    * Checks if user is logged in to dashboard.
    *
+   * <p>Only reads the page; use {@link #waitForDashboardToLoad()} before working with the cards.
+   *
    * @param email User email
    * @return true if dashboard is visible for user
    */
+  @Step("Verify dashboard is loaded for the user")
   public boolean isUserLoggedInToDashboard(String email) {
+    return webDriverHelper.isElementVisible(profileUsername, "Profile Username", email)
+        && webDriverHelper.isElementVisible(dashboardHeader, "Dashboard Header");
+  }
+
+  /**
+   * Waits for the dashboard cards to load, takes a session checkpoint and collects the dashboard
+   * performance metrics.
+   *
+   * <p>A session replaced after an infrastructure failure resumes logged in from the checkpoint.
+   */
+  @Step("Wait for the dashboard to load")
+  public void waitForDashboardToLoad() {
     webDriverHelper.waitForElementToVisible(cardTitleLocator, "Card Title", "Managed Applications");
-    webDriverHelper.waitForElementToVisible(profileUsername, "Profile Username", email);
-    return webDriverHelper.isElementVisible(dashboardHeader, "Dashboard Header");
+    RecoverableSession.checkpoint(driver);
+    collectPerformanceMetrics();
   }
 
   /**
@@ -44,6 +72,7 @@ public class DashboardPage extends BasePage {
    * @param cardTitle Title of the card
    * @return Card count as integer
    */
+  @Step("Read the count of a dashboard card")
   public int getCountTextOfCard(String cardTitle) {
     String countText =
         webDriverHelper.getElementText(cardCountText, "Card Count Text", "Managed Applications");
@@ -55,6 +84,7 @@ public class DashboardPage extends BasePage {
    *
    * @param cardTitle Title of the card
    */
+  @Step("Open the menu of a dashboard card")
   public void navigateToCardMenu(String cardTitle) {
     webDriverHelper.click(cardTitleLocator, "Card Title", cardTitle);
   }
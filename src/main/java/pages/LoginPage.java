@@ -1,5 +1,8 @@
 package pages;
 
+import io.qameta.allure.Param;
+import io.qameta.allure.Step;
+import io.qameta.allure.model.Parameter;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
@@ -25,7 +28,8 @@ public class LoginPage extends BasePage {
    * @param email User email
    * @param password User password
    */
-  public void login(String email, String password) {
+  @Step("Log in")
+  public void login(String email, @Param(mode = Parameter.Mode.MASKED) String password) {
     webDriverHelper.sendKeys(emailInput, "Email Field", email);
     webDriverHelper.sendKeys(passwordInput, "Password Field", password);
     webDriverHelper.click(signInButton, "Sign In Button");
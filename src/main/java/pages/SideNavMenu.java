@@ -1,6 +1,7 @@
 package pages;
 
 import base.Locator;
+import io.qameta.allure.Step;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 
@@ -26,8 +27,9 @@ public class SideNavMenu extends BasePage {
    *
    * @param menuName Name of the menu to navigate to
    */
+  @Step("Navigate to a menu from the side navigation")
   public void navigateToMenuFromSideNav(String menuName) {
-    webDriverHelper.click(sideNavMenu, "Side Nav Menu", "Applications");
-    webDriverHelper.moveToElement(profileUsername, menuName);
+    webDriverHelper.click(sideNavMenu, "Side Nav Menu", menuName);
+    webDriverHelper.moveToElement(profileUsername, "Profile Username");
   }
 }
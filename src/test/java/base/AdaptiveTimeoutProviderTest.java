@@ -0,0 +1,86 @@
+package base;
+
+import java.nio.file.Paths;
+import java.time.Duration;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for the timeout derivation of {@link AdaptiveTimeoutProvider}, on a provider with
+ * the 95th percentile, a multiplier of 3, 5 samples minimum, a 5 s floor and a 60 s ceiling.
+ */
+public class AdaptiveTimeoutProviderTest {
+
+  private static final String PAGE = "TestPage";
+  private static final String LOCATOR = "By.id: row";
+
+  private static AdaptiveTimeoutProvider newProvider(boolean enabled) {
+    return new AdaptiveTimeoutProvider(
+        enabled, Paths.get("target", "wait-history-test.properties"), 95, 3, 5, 5_000, 60_000);
+  }
+
+  private static void record(AdaptiveTimeoutProvider provider, long... millis) {
+    for (long value : millis) {
+      provider.recordWait(PAGE, LOCATOR, Duration.ofMillis(value));
+    }
+  }
+
+  /** Verifies that the configured timeout is used until enough samples are recorded. */
+  @Test
+  public void testFallbackWithoutEnoughSamples() {
+    AdaptiveTimeoutProvider provider = newProvider(true);
+    Assert.assertEquals(provider.getTimeout(PAGE, LOCATOR, 10), Duration.ofSeconds(10));
+    record(provider, 100, 100, 100, 100);
+    Assert.assertEquals(provider.getTimeout(PAGE, LOCATOR, 10), Duration.ofSeconds(10));
+  }
+
+  /** Verifies that a disabled provider always returns the configured timeout. */
+  @Test
+  public void testFallbackWhenDisabled() {
+    AdaptiveTimeoutProvider provider = newProvider(false);
+    record(provider, 100, 100, 100, 100, 100);
+    Assert.assertEquals(provider.getTimeout(PAGE, LOCATOR, 10), Duration.ofSeconds(10));
+  }
+
+  /**
+   * Verifies the percentile and multiplier: of 20 samples from 100 to 2000 ms, the 95th
+   * percentile is the 19th, 1900 ms, giving 5700 ms.
+   */
+  @Test
+  public void testPercentileTimesMultiplier() {
+    AdaptiveTimeoutProvider provider = newProvider(true);
+    for (int i = 20; i >= 1; i--) {
+      record(provider, i * 100L);
+    }
+    Assert.assertEquals(provider.getTimeout(PAGE, LOCATOR, 10), Duration.ofMillis(5_700));
+  }
+
+  /** Verifies that fast waits never give a timeout below the floor. */
+  @Test
+  public void testTimeoutClampedToFloor() {
+    AdaptiveTimeoutProvider provider = newProvider(true);
+    record(provider, 100, 100, 100, 100, 100);
+    Assert.assertEquals(provider.getTimeout(PAGE, LOCATOR, 10), Duration.ofSeconds(5));
+  }
+
+  /** Verifies that slow waits are capped by the ceiling and by the configured timeout. */
+  @Test
+  public void testTimeoutClampedToCeilingAndConfiguredTimeout() {
+    AdaptiveTimeoutProvider provider = newProvider(true);
+    record(provider, 30_000, 30_000, 30_000, 30_000, 30_000);
+    Assert.assertEquals(provider.getTimeout(PAGE, LOCATOR, 120), Duration.ofSeconds(60));
+    Assert.assertEquals(provider.getTimeout(PAGE, LOCATOR, 10), Duration.ofSeconds(10));
+  }
+
+  /** Verifies that a timed out wait drops the history of its locator only. */
+  @Test
+  public void testTimeoutResetsHistoryOfLocator() {
+    AdaptiveTimeoutProvider provider = newProvider(true);
+    record(provider, 100, 100, 100, 100, 100);
+    provider.recordWait("OtherPage", LOCATOR, Duration.ofMillis(100));
+    provider.recordTimeout(PAGE, LOCATOR, Duration.ofSeconds(5));
+    Assert.assertEquals(provider.getTimeout(PAGE, LOCATOR, 10), Duration.ofSeconds(10));
+    record(provider, 100, 100, 100, 100, 100);
+    Assert.assertEquals(provider.getTimeout(PAGE, LOCATOR, 10), Duration.ofSeconds(5));
+  }
+}
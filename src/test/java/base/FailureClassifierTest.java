@@ -0,0 +1,78 @@
+package base;
+
+import java.net.ConnectException;
+import org.openqa.selenium.NoSuchElementException;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.remote.UnreachableBrowserException;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/** Test class for the classification rules of {@link FailureClassifier}. */
+public class FailureClassifierTest {
+
+  private final FailureClassifier classifier = new FailureClassifier("Node Died, target crashed");
+
+  /** Verifies that assertion errors are assertion failures, also with a driver error as cause. */
+  @Test
+  public void testAssertionErrorIsAssertion() {
+    Assert.assertEquals(
+        classifier.classify(new AssertionError("count", new NoSuchSessionException("gone"))),
+        FailureClassifier.Category.ASSERTION);
+  }
+
+  /** Verifies that waits and missing elements are application failures. */
+  @Test
+  public void testTimeoutAndMissingElementAreApplication() {
+    Assert.assertEquals(
+        classifier.classify(new TimeoutException("row")), FailureClassifier.Category.APPLICATION);
+    Assert.assertEquals(
+        classifier.classify(new NoSuchElementException("row")),
+        FailureClassifier.Category.APPLICATION);
+    Assert.assertEquals(
+        classifier.classify(new IllegalStateException("no message pattern")),
+        FailureClassifier.Category.APPLICATION);
+  }
+
+  /** Verifies that session, browser and network failure types are infrastructure failures. */
+  @Test
+  public void testSessionAndNetworkFailuresAreInfrastructure() {
+    Assert.assertEquals(
+        classifier.classify(new SessionNotCreatedException("no free slot")),
+        FailureClassifier.Category.INFRASTRUCTURE);
+    Assert.assertEquals(
+        classifier.classify(new NoSuchSessionException("gone")),
+        FailureClassifier.Category.INFRASTRUCTURE);
+    Assert.assertEquals(
+        classifier.classify(new UnreachableBrowserException("node")),
+        FailureClassifier.Category.INFRASTRUCTURE);
+    Assert.assertEquals(
+        classifier.classify(new WebDriverException(new ConnectException("refused"))),
+        FailureClassifier.Category.INFRASTRUCTURE);
+  }
+
+  /** Verifies that built-in and configured message patterns match case-insensitively. */
+  @Test
+  public void testMessagePatterns() {
+    Assert.assertEquals(
+        classifier.classify(new WebDriverException("Chrome not reachable")),
+        FailureClassifier.Category.INFRASTRUCTURE);
+    Assert.assertEquals(
+        classifier.classify(new WebDriverException("The node died unexpectedly")),
+        FailureClassifier.Category.INFRASTRUCTURE);
+    Assert.assertEquals(
+        new FailureClassifier(null).classify(new WebDriverException("The node died unexpectedly")),
+        FailureClassifier.Category.APPLICATION);
+  }
+
+  /** Verifies that a cyclic cause chain is walked once. */
+  @Test
+  public void testCyclicCauseChain() {
+    IllegalStateException first = new IllegalStateException("first");
+    IllegalStateException second = new IllegalStateException("second", first);
+    first.initCause(second);
+    Assert.assertEquals(classifier.classify(first), FailureClassifier.Category.APPLICATION);
+  }
+}
@@ -0,0 +1,244 @@
+package base;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.NoSuchSessionException;
+import org.openqa.selenium.SessionNotCreatedException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.testng.Assert;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for the rerun rules of {@link RecoverableSession}, on fake sessions that record the
+ * commands they receive.
+ */
+public class RecoverableSessionTest {
+
+  private final FailureClassifier classifier = new FailureClassifier((String) null);
+
+  /** Sessions created by the factory of the current test, the first one included */
+  private List<FakeSession> sessions;
+
+  private RetryBudget budget;
+  private WebDriver driver;
+
+  /** Fake session whose commands are logged; a dead session fails every command. */
+  private static class FakeSession {
+
+    final List<String> commands = new ArrayList<>();
+    boolean dead;
+
+    WebDriver driver() {
+      Object options =
+          Proxy.newProxyInstance(
+              getClass().getClassLoader(),
+              new Class<?>[] {WebDriver.Options.class},
+              (proxy, method, args) -> {
+                commands.add(method.getName());
+                return method.getName().equals("getCookies")
+                    ? Set.of(new Cookie("sid", "1"))
+                    : null;
+              });
+      return (WebDriver)
+          Proxy.newProxyInstance(
+              getClass().getClassLoader(),
+              new Class<?>[] {WebDriver.class, JavascriptExecutor.class},
+              (proxy, method, args) -> {
+                if (dead) {
+                  throw new NoSuchSessionException("invalid session id");
+                }
+                commands.add(
+                    method.getName().equals("get") ? "get " + args[0] : method.getName());
+                return switch (method.getName()) {
+                  case "getWindowHandle" -> "window";
+                  case "getCurrentUrl" -> "http://app/applications?page=2";
+                  case "manage" -> options;
+                  case "executeScript" ->
+                      ((String) args[0]).contains("copy(localStorage)")
+                          ? Map.of("url", "http://app/dashboard", "local", Map.of(), "session",
+                              Map.of())
+                          : null;
+                  default -> null;
+                };
+              });
+    }
+  }
+
+  @BeforeMethod
+  public void setUp() {
+    sessions = new ArrayList<>();
+    budget = new RetryBudget(3, 2, 0);
+    driver = RecoverableSession.wrap(newSession(), this::newSession, classifier, budget);
+  }
+
+  private WebDriver newSession() {
+    FakeSession session = new FakeSession();
+    sessions.add(session);
+    return session.driver();
+  }
+
+  /** Returns a step failing with a connection reset the given number of times. */
+  private static Supplier<String> failing(int failures, List<String> attempts) {
+    return () -> {
+      attempts.add("attempt");
+      if (attempts.size() <= failures) {
+        throw new WebDriverException("java.net.SocketException: Connection reset");
+      }
+      return "done";
+    };
+  }
+
+  /** Verifies that a read is rerun on the same session when the session is still alive. */
+  @Test
+  public void testReadRerunOnLiveSession() {
+    List<String> attempts = new ArrayList<>();
+    String value = RecoverableSession.of(driver).run("Read", failing(1, attempts));
+    Assert.assertEquals(value, "done");
+    Assert.assertEquals(attempts.size(), 2, "Attempts");
+    Assert.assertEquals(sessions.size(), 1, "Sessions");
+    Assert.assertEquals(budget.getRecoveredSteps(), 1);
+  }
+
+  /** Verifies that an interaction is not rerun on a live session that may have performed it. */
+  @Test
+  public void testInteractionNotRerunOnLiveSession() {
+    List<String> attempts = new ArrayList<>();
+    Assert.assertThrows(
+        WebDriverException.class,
+        () -> RecoverableSession.of(driver).runInteraction("Click", failing(1, attempts)));
+    Assert.assertEquals(attempts.size(), 1, "Attempts");
+    Assert.assertEquals(sessions.size(), 1, "Sessions");
+    Assert.assertEquals(budget.getUsed(), 0, "Retries");
+    Assert.assertEquals(budget.toMap().get("failedSteps"), 1);
+  }
+
+  /**
+   * Verifies that an interaction on a dead session is rerun on a replacement session restored to
+   * the checkpoint cookies and the URL read after the last interaction.
+   */
+  @Test
+  public void testInteractionRerunOnReplacedSession() {
+    RecoverableSession recoverableSession = RecoverableSession.of(driver);
+    recoverableSession.checkpoint();
+    recoverableSession.runInteraction("Open page 2", () -> "done");
+    sessions.get(0).dead = true;
+    List<String> attempts = new ArrayList<>();
+    String value =
+        recoverableSession.runInteraction(
+            "Click",
+            () -> {
+              attempts.add("attempt");
+              driver.getWindowHandle();
+              return "done";
+            });
+    Assert.assertEquals(value, "done");
+    Assert.assertEquals(attempts.size(), 2, "Attempts");
+    Assert.assertEquals(sessions.size(), 2, "Sessions");
+    List<String> commands = sessions.get(1).commands;
+    Assert.assertEquals(commands.get(0), "get http://app/dashboard");
+    Assert.assertTrue(commands.contains("addCookie"), commands.toString());
+    Assert.assertTrue(
+        commands.indexOf("get http://app/applications?page=2") > commands.indexOf("addCookie"),
+        commands.toString());
+    Assert.assertEquals(recoverableSession.getReplacedSessions(), 1);
+  }
+
+  /** Verifies that reads cost no URL command and that get calls update the page to restore. */
+  @Test
+  public void testUrlTrackedWithoutReadingItPerStep() {
+    RecoverableSession recoverableSession = RecoverableSession.of(driver);
+    driver.get("http://app/applications");
+    recoverableSession.run("Read", () -> "done");
+    Assert.assertFalse(sessions.get(0).commands.contains("getCurrentUrl"));
+    sessions.get(0).dead = true;
+    recoverableSession.run("Read", () -> driver.getWindowHandle());
+    Assert.assertEquals(sessions.get(1).commands.get(0), "get http://app/applications");
+  }
+
+  /** Verifies that a step is not rerun more often than allowed per step. */
+  @Test
+  public void testAttemptsPerStepLimit() {
+    List<String> attempts = new ArrayList<>();
+    Assert.assertThrows(
+        WebDriverException.class,
+        () -> RecoverableSession.of(driver).run("Read", failing(10, attempts)));
+    Assert.assertEquals(attempts.size(), 3, "Attempts");
+    Assert.assertEquals(budget.getUsed(), 2, "Retries");
+  }
+
+  /** Verifies that no step is rerun once the budget of the run is used up. */
+  @Test
+  public void testBudgetLimit() {
+    budget = new RetryBudget(1, 2, 0);
+    driver = RecoverableSession.wrap(newSession(), this::newSession, classifier, budget);
+    List<String> attempts = new ArrayList<>();
+    Assert.assertThrows(
+        WebDriverException.class,
+        () -> RecoverableSession.of(driver).run("Read", failing(10, attempts)));
+    Assert.assertEquals(attempts.size(), 2, "Attempts");
+  }
+
+  /** Verifies that application failures are never rerun. */
+  @Test
+  public void testApplicationFailureNotRerun() {
+    List<String> attempts = new ArrayList<>();
+    Assert.assertThrows(
+        TimeoutException.class,
+        () ->
+            RecoverableSession.of(driver)
+                .run(
+                    "Wait",
+                    () -> {
+                      attempts.add("attempt");
+                      throw new TimeoutException("row");
+                    }));
+    Assert.assertEquals(attempts.size(), 1, "Attempts");
+    Assert.assertEquals(budget.getUsed(), 0, "Retries");
+  }
+
+  /** Verifies that session creation is retried after a transient infrastructure failure. */
+  @Test
+  public void testStartRetriesSessionCreation() {
+    List<String> attempts = new ArrayList<>();
+    WebDriver started =
+        RecoverableSession.start(
+            () -> {
+              attempts.add("attempt");
+              if (attempts.size() == 1) {
+                throw new SessionNotCreatedException("No free slot");
+              }
+              return newSession();
+            },
+            classifier,
+            budget);
+    Assert.assertNotNull(RecoverableSession.of(started));
+    Assert.assertEquals(attempts.size(), 2, "Attempts");
+    Assert.assertEquals(RecoverableSession.of(started).getRetries(), 1);
+  }
+
+  /** Verifies that session creation is not retried after a configuration error. */
+  @Test
+  public void testStartDoesNotRetryApplicationFailure() {
+    List<String> attempts = new ArrayList<>();
+    Assert.assertThrows(
+        IllegalArgumentException.class,
+        () ->
+            RecoverableSession.start(
+                () -> {
+                  attempts.add("attempt");
+                  throw new IllegalArgumentException("Unsupported browser");
+                },
+                classifier,
+                budget));
+    Assert.assertEquals(attempts.size(), 1, "Attempts");
+  }
+}
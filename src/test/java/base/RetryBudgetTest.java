@@ -0,0 +1,53 @@
+package base;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/** Test class for the limits and statistics of {@link RetryBudget}. */
+public class RetryBudgetTest {
+
+  /** Verifies that a budget of 0 disables retries. */
+  @Test
+  public void testZeroBudgetIsDisabled() {
+    RetryBudget budget = new RetryBudget(0, 2, 1000);
+    Assert.assertFalse(budget.isEnabled());
+    Assert.assertFalse(budget.tryAcquire());
+  }
+
+  /** Verifies that retries are taken until the budget is used up. */
+  @Test
+  public void testTryAcquireUntilUsedUp() {
+    RetryBudget budget = new RetryBudget(2, 2, 1000);
+    Assert.assertTrue(budget.isEnabled());
+    Assert.assertTrue(budget.tryAcquire());
+    Assert.assertTrue(budget.tryAcquire());
+    Assert.assertFalse(budget.tryAcquire());
+    Assert.assertEquals(budget.getUsed(), 2);
+  }
+
+  /** Verifies that the backoff doubles on each retry and stops growing after ten doublings. */
+  @Test
+  public void testBackoffDoubles() {
+    RetryBudget budget = new RetryBudget(1, 2, 1000);
+    Assert.assertEquals(budget.getBackoffMillis(1), 1000);
+    Assert.assertEquals(budget.getBackoffMillis(2), 2000);
+    Assert.assertEquals(budget.getBackoffMillis(3), 4000);
+    Assert.assertEquals(budget.getBackoffMillis(11), 1000L << 10);
+    Assert.assertEquals(budget.getBackoffMillis(20), 1000L << 10);
+  }
+
+  /** Verifies the statistics reported for the run. */
+  @Test
+  public void testStatistics() {
+    RetryBudget budget = new RetryBudget(5, 2, 1000);
+    budget.tryAcquire();
+    budget.recordRecovered(1500);
+    budget.recordFailed();
+    budget.recordReplacedSession();
+    Assert.assertEquals(budget.getRecoveredSteps(), 1);
+    Assert.assertEquals(budget.getRecoveredMillis(), 1500);
+    Assert.assertEquals(budget.toMap().get("failedSteps"), 1);
+    Assert.assertEquals(budget.toMap().get("replacedSessions"), 1);
+    Assert.assertEquals(budget.toMap().get("retries"), 1);
+  }
+}
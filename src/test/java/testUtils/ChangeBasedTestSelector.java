@@ -0,0 +1,205 @@
+package testUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URISyntaxException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.TimeUnit;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import utils.ReadProperties;
+
+/**
+ * TestNG method interceptor running only the test classes impacted by a git change.
+ *
+ * <p>Enabled by {@code testSelection.base}, a git revision such as {@code origin/main}. The files
+ * changed since that revision (committed, uncommitted and untracked) are mapped to classes, and a
+ * test class is kept when it is changed itself or depends on a changed class, directly or
+ * transitively, according to the bytecode dependency map of {@link ClassDependencyScanner}. For
+ * example a change to {@code ApplicationsPage} keeps {@code DashboardPageTest} but not {@code
+ * LoginPageTest}.
+ *
+ * <p>Every test runs when selection cannot be trusted:
+ *
+ * <ul>
+ *   <li>git fails or the revision is unknown
+ *   <li>a changed file is not Java source (build files, configuration, fixtures), except for the
+ *       documentation and result paths in {@link #IGNORED_PATHS}
+ *   <li>a changed class is not used by any test class (e.g. listeners loaded by configuration)
+ * </ul>
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>
+ *   mvn test -DtestSelection.base=origin/main
+ * </pre>
+ */
+public class ChangeBasedTestSelector implements IMethodInterceptor {
+
+  private static final Logger logger = LogManager.getLogger(ChangeBasedTestSelector.class);
+
+  /** Changed paths that never affect test outcomes */
+  private static final List<String> IGNORED_PATHS =
+      List.of("README.md", "test-results/", "benchmarks/", "src/jmh/", ".github/");
+
+  /** Selected test classes in binary form, null for all; computed once per run */
+  private static Set<String> selectedClasses;
+
+  private static boolean selectionResolved;
+
+  /**
+   * Keeps the methods of impacted test classes, or all methods when selection is disabled or
+   * unsafe.
+   *
+   * @param methods methods TestNG is about to run
+   * @param context the test context
+   * @return methods to run
+   */
+  @Override
+  public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+    Set<String> selected = getSelectedClasses();
+    if (selected == null) {
+      return methods;
+    }
+    List<IMethodInstance> kept = new ArrayList<>();
+    for (IMethodInstance method : methods) {
+      if (selected.contains(method.getMethod().getRealClass().getName())) {
+        kept.add(method);
+      }
+    }
+    logger.info(
+        "Change-based selection kept {} of {} test methods in '{}'",
+        kept.size(),
+        methods.size(),
+        context.getName());
+    return kept;
+  }
+
+  private static synchronized Set<String> getSelectedClasses() {
+    if (!selectionResolved) {
+      selectionResolved = true;
+      ReadProperties readProperties = ReadProperties.getInstance();
+      String key = "testSelection.base";
+      String base = System.getProperty(key, readProperties.getProperty(key));
+      if (base != null && !base.isBlank()) {
+        selectedClasses = selectTestClasses(base.trim());
+      }
+    }
+    return selectedClasses;
+  }
+
+  /**
+   * Selects the test classes impacted by the changes since a git revision.
+   *
+   * @param base git revision to compare with
+   * @return selected test class names in binary form, or null to run everything
+   */
+  private static Set<String> selectTestClasses(String base) {
+    List<String> changedFiles = new ArrayList<>();
+    try {
+      changedFiles.addAll(git("diff", "--name-only", base, "--"));
+      changedFiles.addAll(git("ls-files", "--others", "--exclude-standard"));
+    } catch (IOException e) {
+      logger.warn("Running all tests, unable to list changes since '{}': {}", base, e.getMessage());
+      return null;
+    }
+
+    Set<String> changedClasses = new TreeSet<>();
+    for (String file : changedFiles) {
+      if (file.startsWith("src/main/java/") || file.startsWith("src/test/java/")) {
+        if (file.endsWith(".java")) {
+          changedClasses.add(file.substring("src/main/java/".length(), file.length() - 5));
+        }
+      } else if (IGNORED_PATHS.stream().noneMatch(file::startsWith)) {
+        logger.info("Running all tests, non-source file changed: {}", file);
+        return null;
+      }
+    }
+
+    ClassDependencyScanner scanner;
+    Path mainClassesDirectory;
+    Path testClassesDirectory;
+    try {
+      mainClassesDirectory = getOutputDirectory(ReadProperties.class);
+      testClassesDirectory = getOutputDirectory(ChangeBasedTestSelector.class);
+      scanner =
+          new ClassDependencyScanner(
+              List.of(mainClassesDirectory, testClassesDirectory),
+              testClassesDirectory.resolveSibling("test-selection-cache.properties"));
+    } catch (IOException | URISyntaxException e) {
+      logger.warn("Running all tests, unable to build the dependency map", e);
+      return null;
+    }
+
+    Set<String> selected = new TreeSet<>();
+    Set<String> covered = new HashSet<>();
+    for (String testClass : scanner.getClasses(testClassesDirectory)) {
+      if (!testClass.startsWith("tests/")) {
+        continue;
+      }
+      Set<String> dependencies = scanner.getTransitiveDependencies(testClass);
+      covered.addAll(dependencies);
+      if (dependencies.stream().anyMatch(changedClasses::contains)) {
+        selected.add(testClass.replace('/', '.'));
+      }
+    }
+    Set<String> projectClasses = new HashSet<>(scanner.getClasses(mainClassesDirectory));
+    projectClasses.addAll(scanner.getClasses(testClassesDirectory));
+    for (String changedClass : changedClasses) {
+      // Deleted classes are not compiled anymore, so no remaining class can depend on them
+      if (projectClasses.contains(changedClass) && !covered.contains(changedClass)) {
+        logger.info("Running all tests, {} is not used by any test class", changedClass);
+        return null;
+      }
+    }
+    logger.info(
+        "Changes since '{}' in {} select test classes {}", base, changedClasses, selected);
+    return selected;
+  }
+
+  /**
+   * Returns the class output directory a class was loaded from.
+   *
+   * @param type class loaded from a directory
+   * @return output directory, e.g. {@code target/test-classes}
+   * @throws URISyntaxException if the code source location is malformed
+   */
+  private static Path getOutputDirectory(Class<?> type) throws URISyntaxException {
+    return Paths.get(type.getProtectionDomain().getCodeSource().getLocation().toURI());
+  }
+
+  /**
+   * Runs a git command in the working directory and returns its output lines.
+   *
+   * @param arguments git arguments
+   * @return output lines
+   * @throws IOException if git cannot be started, times out or exits with an error
+   */
+  private static List<String> git(String... arguments) throws IOException {
+    List<String> command = new ArrayList<>(List.of("git"));
+    command.addAll(List.of(arguments));
+    Process process =
+        new ProcessBuilder(command).redirectError(ProcessBuilder.Redirect.DISCARD).start();
+    String output;
+    try (InputStream inputStream = process.getInputStream()) {
+      output = new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+      if (!process.waitFor(30, TimeUnit.SECONDS) || process.exitValue() != 0) {
+        throw new IOException(String.join(" ", command) + " failed");
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new IOException("Interrupted while running " + String.join(" ", command), e);
+    }
+    return output.lines().filter(line -> !line.isBlank()).toList();
+  }
+}
@@ -0,0 +1,213 @@
+package testUtils;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Builds a class dependency map of compiled project classes from their bytecode.
+ *
+ * <p>Reads the constant pool of every class file under the given output directories and collects
+ * the referenced classes: class constants (types instantiated, called, extended or cast to) and
+ * types in field, method and annotation descriptors. Nested classes are folded into their top-level
+ * class, as that is the unit of a source file. Only references to other project classes are kept.
+ *
+ * <p>Parsed dependencies are cached in a properties file with the size and modification time of
+ * each class file, so later runs only parse recompiled classes.
+ */
+public class ClassDependencyScanner {
+
+  private static final Logger logger = LogManager.getLogger(ClassDependencyScanner.class);
+
+  /** Class file magic number */
+  private static final int MAGIC = 0xCAFEBABE;
+
+  /** Object types inside descriptors and signatures, e.g. {@code Lpages/LoginPage;} */
+  private static final Pattern DESCRIPTOR_TYPE = Pattern.compile("L([\\w$/]+)[;<]");
+
+  /** Direct dependencies of each top-level project class */
+  private final Map<String, Set<String>> dependencies = new HashMap<>();
+
+  /** Top-level project classes found in each output directory */
+  private final Map<Path, Set<String>> classesByDirectory = new HashMap<>();
+
+  /**
+   * Scans class output directories, reusing cached dependencies of unchanged class files.
+   *
+   * @param outputDirectories compiled class directories, e.g. {@code target/classes}
+   * @param cacheFile properties file caching the parsed dependencies
+   * @throws IOException if a class file cannot be read
+   */
+  public ClassDependencyScanner(List<Path> outputDirectories, Path cacheFile) throws IOException {
+    Properties cache = new Properties();
+    if (Files.exists(cacheFile)) {
+      try (InputStream inputStream = Files.newInputStream(cacheFile)) {
+        cache.load(inputStream);
+      }
+    }
+    Properties updatedCache = new Properties();
+    int parsed = 0;
+    Map<String, Set<String>> rawDependencies = new HashMap<>();
+    for (Path directory : outputDirectories) {
+      Set<String> classes = new HashSet<>();
+      classesByDirectory.put(directory, classes);
+      if (!Files.isDirectory(directory)) {
+        continue;
+      }
+      List<Path> classFiles;
+      try (Stream<Path> files = Files.walk(directory)) {
+        classFiles = files.filter(file -> file.toString().endsWith(".class")).toList();
+      }
+      for (Path classFile : classFiles) {
+        String relative = directory.relativize(classFile).toString().replace('\\', '/');
+        String className = relative.substring(0, relative.length() - ".class".length());
+        String fingerprint = Files.size(classFile) + ":" + Files.getLastModifiedTime(classFile);
+        String cached = cache.getProperty(className);
+        Set<String> references;
+        if (cached != null && cached.startsWith(fingerprint + "|")) {
+          String list = cached.substring(fingerprint.length() + 1);
+          references = list.isEmpty() ? Set.of() : Set.of(list.split(","));
+        } else {
+          try (InputStream inputStream = Files.newInputStream(classFile)) {
+            references = readReferencedClasses(inputStream);
+          }
+          parsed++;
+        }
+        updatedCache.setProperty(className, fingerprint + "|" + String.join(",", references));
+        String topLevel = toTopLevel(className);
+        classes.add(topLevel);
+        rawDependencies.computeIfAbsent(topLevel, key -> new HashSet<>()).addAll(references);
+      }
+    }
+    Set<String> projectClasses = new HashSet<>(rawDependencies.keySet());
+    rawDependencies.forEach(
+        (className, references) -> {
+          Set<String> projectReferences = new TreeSet<>();
+          for (String reference : references) {
+            String topLevel = toTopLevel(reference);
+            if (projectClasses.contains(topLevel) && !topLevel.equals(className)) {
+              projectReferences.add(topLevel);
+            }
+          }
+          dependencies.put(className, projectReferences);
+        });
+    if (cacheFile.getParent() != null) {
+      Files.createDirectories(cacheFile.getParent());
+    }
+    try (OutputStream outputStream = Files.newOutputStream(cacheFile)) {
+      updatedCache.store(outputStream, "Class file fingerprint|referenced classes");
+    }
+    logger.info(
+        "Dependency map of {} classes built, {} class files parsed, others cached in {}",
+        dependencies.size(),
+        parsed,
+        cacheFile);
+  }
+
+  /**
+   * Returns the top-level classes compiled into an output directory.
+   *
+   * @param directory one of the scanned output directories
+   * @return class names in internal form, e.g. {@code pages/LoginPage}
+   */
+  public Set<String> getClasses(Path directory) {
+    return classesByDirectory.getOrDefault(directory, Set.of());
+  }
+
+  /**
+   * Returns a class and every project class it depends on, directly or transitively.
+   *
+   * @param className class name in internal form
+   * @return transitive dependencies including the class itself
+   */
+  public Set<String> getTransitiveDependencies(String className) {
+    Set<String> visited = new HashSet<>();
+    Deque<String> pending = new ArrayDeque<>(List.of(className));
+    while (!pending.isEmpty()) {
+      String current = pending.pop();
+      if (visited.add(current)) {
+        pending.addAll(dependencies.getOrDefault(current, Set.of()));
+      }
+    }
+    return visited;
+  }
+
+  /**
+   * Reads the classes referenced from the constant pool of a class file.
+   *
+   * @param inputStream class file content
+   * @return referenced class names in internal form, e.g. {@code base/WebDriverHelper}
+   * @throws IOException if the class file is truncated or not a class file
+   */
+  static Set<String> readReferencedClasses(InputStream inputStream) throws IOException {
+    DataInputStream in = new DataInputStream(inputStream);
+    if (in.readInt() != MAGIC) {
+      throw new IOException("Not a class file");
+    }
+    in.readUnsignedShort(); // minor version
+    in.readUnsignedShort(); // major version
+    int count = in.readUnsignedShort();
+    String[] utf8 = new String[count];
+    int[] classNameIndexes = new int[count];
+    Arrays.fill(classNameIndexes, -1);
+    for (int index = 1; index < count; index++) {
+      int tag = in.readUnsignedByte();
+      switch (tag) {
+        case 1 -> utf8[index] = in.readUTF();
+        case 7 -> classNameIndexes[index] = in.readUnsignedShort();
+        case 8, 16, 19, 20 -> in.skipBytes(2);
+        case 15 -> in.skipBytes(3);
+        case 3, 4, 9, 10, 11, 12, 17, 18 -> in.skipBytes(4);
+        case 5, 6 -> {
+          in.skipBytes(8);
+          index++; // long and double take two constant pool slots
+        }
+        default -> throw new IOException("Unknown constant pool tag " + tag);
+      }
+    }
+    Set<String> references = new HashSet<>();
+    for (int index = 1; index < count; index++) {
+      if (classNameIndexes[index] >= 0) {
+        String name = utf8[classNameIndexes[index]];
+        if (name.startsWith("[")) {
+          addDescriptorTypes(name, references);
+        } else {
+          references.add(name);
+        }
+      } else if (utf8[index] != null) {
+        addDescriptorTypes(utf8[index], references);
+      }
+    }
+    return references;
+  }
+
+  private static void addDescriptorTypes(String descriptor, Set<String> references) {
+    Matcher matcher = DESCRIPTOR_TYPE.matcher(descriptor);
+    while (matcher.find()) {
+      references.add(matcher.group(1));
+    }
+  }
+
+  private static String toTopLevel(String className) {
+    int nested = className.indexOf('$');
+    return nested < 0 ? className : className.substring(0, nested);
+  }
+}
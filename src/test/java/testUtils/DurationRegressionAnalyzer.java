@@ -0,0 +1,472 @@
+package testUtils;
+
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.FileSystemResultsWriter;
+import io.qameta.allure.model.Label;
+import io.qameta.allure.model.Status;
+import io.qameta.allure.model.StatusDetails;
+import io.qameta.allure.model.TestResult;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+
+/**
+ * Post-run detector of statistically significant test and page action slowdowns.
+ *
+ * <p>Collects the durations of passed tests and of their Allure steps (the {@code @Step} page
+ * actions) from the current run in {@code allure-results}, and compares each series with a rolling
+ * baseline of previous runs kept in {@code test-results/duration-history.json}. Tests without own
+ * history are seeded from the Allure report {@code history.json}.
+ *
+ * <h3>Statistics:</h3>
+ *
+ * <ul>
+ *   <li>Series with at least {@code regression.minBaselineSamples} current samples use a one-sided
+ *       Mann-Whitney U test; the effect size is the rank-biserial correlation
+ *   <li>Other series use a robust z-score of the current median against the baseline median and
+ *       median absolute deviation (MAD)
+ *   <li>A series regresses only when the result is significant and its median grew by at least
+ *       {@code regression.minIncrease} and {@code regression.minDeltaMillis}
+ * </ul>
+ *
+ * <p>The report is written to {@code test-results/duration-regression.txt} and attached to an
+ * Allure result named "Duration regression analysis". Run by the {@code regression} Maven profile
+ * after the tests.
+ *
+ * <h3>System properties:</h3>
+ *
+ * <ul>
+ *   <li>{@code regression.baselineRuns} - previous runs kept in the baseline, default 20
+ *   <li>{@code regression.minBaselineSamples} - samples needed to compare a series, default 5
+ *   <li>{@code regression.alpha} - Mann-Whitney significance level, default 0.01
+ *   <li>{@code regression.zThreshold} - robust z-score significance threshold, default 3.5
+ *   <li>{@code regression.minIncrease} - minimal relative median increase, default 0.2
+ *   <li>{@code regression.minDeltaMillis} - minimal absolute median increase, default 50
+ *   <li>{@code regression.failOnRegression} - exit with an error on regression, default false
+ * </ul>
+ */
+public class DurationRegressionAnalyzer {
+
+  private static final Logger logger = LogManager.getLogger(DurationRegressionAnalyzer.class);
+
+  private static final Json json = new Json();
+
+  /** Scale making the MAD a consistent estimator of the standard deviation of normal data */
+  private static final double MAD_SCALE = 1.4826;
+
+  private static final String TEST_PREFIX = "test: ";
+  private static final String ACTION_PREFIX = "action: ";
+
+  private final Path resultsDir = Paths.get("test-results", "allure-results");
+  private final Path allureHistoryFile =
+      Paths.get("test-results", "allure-report", "history", "history.json");
+  private final Path eventFile = Paths.get("test-results", "test-events.jsonl");
+  private final Path historyFile = Paths.get("test-results", "duration-history.json");
+  private final Path reportFile = Paths.get("test-results", "duration-regression.txt");
+
+  private final int baselineRuns = Integer.getInteger("regression.baselineRuns", 20);
+  private final int minBaselineSamples = Integer.getInteger("regression.minBaselineSamples", 5);
+  private final double alpha = getDouble("regression.alpha", 0.01);
+  private final double zThreshold = getDouble("regression.zThreshold", 3.5);
+  private final double minIncrease = getDouble("regression.minIncrease", 0.2);
+  private final long minDeltaMillis = Long.getLong("regression.minDeltaMillis", 50);
+
+  /** Whether regressions fail the build, and the Allure result with it */
+  private final boolean failOnRegression;
+
+  /** Durations of the current run in milliseconds, keyed by series */
+  private final Map<String, List<Long>> current = new TreeMap<>();
+
+  /** History IDs of the current run's tests, used to seed baselines from Allure history */
+  private final Map<String, String> historyIds = new LinkedHashMap<>();
+
+  private long lastResultStop;
+
+  private DurationRegressionAnalyzer(boolean failOnRegression) {
+    this.failOnRegression = failOnRegression;
+  }
+
+  /**
+   * Entry point.
+   *
+   * @param args unused
+   * @throws IOException if a result or history file cannot be read or written
+   */
+  public static void main(String[] args) throws IOException {
+    boolean failOnRegression = Boolean.getBoolean("regression.failOnRegression");
+    int regressions = new DurationRegressionAnalyzer(failOnRegression).analyze();
+    if (regressions > 0 && failOnRegression) {
+      throw new IllegalStateException(
+          regressions
+              + " duration regression(s) detected, see test-results/duration-regression.txt");
+    }
+  }
+
+  /**
+   * Compares the current run with the baseline, writes the report and rolls the history.
+   *
+   * @return number of regressed series
+   * @throws IOException if a result or history file cannot be read or written
+   */
+  private int analyze() throws IOException {
+    Map<String, Object> history =
+        Files.exists(historyFile)
+            ? json.toType(Files.readString(historyFile), Json.MAP_TYPE)
+            : new LinkedHashMap<>();
+    long analyzedUntil = ((Number) history.getOrDefault("analyzedUntil", 0L)).longValue();
+    readCurrentRun(Math.max(analyzedUntil, readRunStart()));
+    if (current.isEmpty()) {
+      logger.info("No new passed results in {}, nothing to analyze", resultsDir);
+      return 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    Map<String, List<List<Number>>> runs =
+        (Map<String, List<List<Number>>>) history.getOrDefault("runs", new LinkedHashMap<>());
+    Map<String, List<Number>> allureHistory = readAllureHistory();
+    List<Comparison> comparisons = new ArrayList<>();
+    for (Map.Entry<String, List<Long>> series : current.entrySet()) {
+      List<Long> baseline = new ArrayList<>();
+      runs.getOrDefault(series.getKey(), List.of())
+          .forEach(run -> run.forEach(value -> baseline.add(value.longValue())));
+      if (baseline.isEmpty() && historyIds.containsKey(series.getKey())) {
+        allureHistory
+            .getOrDefault(historyIds.get(series.getKey()), List.of())
+            .forEach(value -> baseline.add(value.longValue()));
+      }
+      comparisons.add(compare(series.getKey(), series.getValue(), baseline));
+    }
+    comparisons.sort(
+        Comparator.comparing((Comparison comparison) -> !comparison.regressed)
+            .thenComparing(comparison -> comparison.series));
+
+    String report = formatReport(comparisons);
+    Files.writeString(reportFile, report, StandardCharsets.UTF_8);
+    long regressions = comparisons.stream().filter(comparison -> comparison.regressed).count();
+    attachToAllure(report, regressions);
+    logger.info("Duration regression analysis written to {}\n{}", reportFile, report);
+
+    current.forEach(
+        (series, samples) -> {
+          List<List<Number>> seriesRuns =
+              new ArrayList<>(runs.getOrDefault(series, new ArrayList<>()));
+          seriesRuns.add(new ArrayList<>(samples));
+          while (seriesRuns.size() > baselineRuns) {
+            seriesRuns.remove(0);
+          }
+          runs.put(series, seriesRuns);
+        });
+    Map<String, Object> updated = new LinkedHashMap<>();
+    updated.put("analyzedUntil", lastResultStop);
+    updated.put("runs", runs);
+    Path tempFile = historyFile.resolveSibling(historyFile.getFileName() + ".tmp");
+    Files.writeString(tempFile, json.toJson(updated), StandardCharsets.UTF_8);
+    Files.move(tempFile, historyFile, StandardCopyOption.REPLACE_EXISTING);
+    return (int) regressions;
+  }
+
+  /**
+   * Reads the start of the current run from the first event of the live test event stream.
+   *
+   * @return start of the run in epoch milliseconds, or 0 when unknown
+   * @throws IOException if the event file cannot be read
+   */
+  private long readRunStart() throws IOException {
+    if (!Files.exists(eventFile)) {
+      return 0;
+    }
+    try (Stream<String> lines = Files.lines(eventFile)) {
+      return lines
+          .findFirst()
+          .map(line -> json.<Map<String, Object>>toType(line, Json.MAP_TYPE))
+          .map(event -> Instant.parse((String) event.get("timestamp")).toEpochMilli())
+          .orElse(0L);
+    }
+  }
+
+  /**
+   * Collects test and step durations of passed results started after a point in time.
+   *
+   * @param since epoch milliseconds; older results belong to previous runs
+   * @throws IOException if a result file cannot be read
+   */
+  private void readCurrentRun(long since) throws IOException {
+    if (!Files.isDirectory(resultsDir)) {
+      return;
+    }
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(resultsDir, "*-result.json")) {
+      for (Path file : files) {
+        Map<String, Object> result = json.toType(Files.readString(file), Json.MAP_TYPE);
+        long start = ((Number) result.getOrDefault("start", 0L)).longValue();
+        if (start <= since || !"passed".equals(result.get("status"))) {
+          continue;
+        }
+        long stop = ((Number) result.get("stop")).longValue();
+        String series = TEST_PREFIX + result.get("fullName");
+        current.computeIfAbsent(series, key -> new ArrayList<>()).add(stop - start);
+        historyIds.put(series, (String) result.get("historyId"));
+        collectSteps(result);
+        lastResultStop = Math.max(lastResultStop, stop);
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void collectSteps(Map<String, Object> parent) {
+    for (Object item : (List<Object>) parent.getOrDefault("steps", List.of())) {
+      Map<String, Object> step = (Map<String, Object>) item;
+      if ("passed".equals(step.get("status"))) {
+        long start = ((Number) step.get("start")).longValue();
+        long stop = ((Number) step.get("stop")).longValue();
+        current
+            .computeIfAbsent(ACTION_PREFIX + step.get("name"), key -> new ArrayList<>())
+            .add(stop - start);
+      }
+      collectSteps(step);
+    }
+  }
+
+  /**
+   * Reads passed test durations from the Allure report history, keyed by history ID.
+   *
+   * @return durations per history ID, empty if there is no report history
+   * @throws IOException if the history file cannot be read
+   */
+  @SuppressWarnings("unchecked")
+  private Map<String, List<Number>> readAllureHistory() throws IOException {
+    Map<String, List<Number>> durations = new LinkedHashMap<>();
+    if (!Files.exists(allureHistoryFile)) {
+      return durations;
+    }
+    Map<String, Object> history = json.toType(Files.readString(allureHistoryFile), Json.MAP_TYPE);
+    history.forEach(
+        (historyId, entry) -> {
+          List<Number> values = new ArrayList<>();
+          for (Object item : (List<Object>) ((Map<String, Object>) entry).get("items")) {
+            Map<String, Object> run = (Map<String, Object>) item;
+            if ("passed".equals(run.get("status"))) {
+              values.add((Number) ((Map<String, Object>) run.get("time")).get("duration"));
+            }
+          }
+          durations.put(historyId, values);
+        });
+    return durations;
+  }
+
+  /**
+   * Compares the current samples of a series with its baseline.
+   *
+   * @param series series name
+   * @param samples current durations in milliseconds
+   * @param baseline baseline durations in milliseconds
+   * @return comparison result
+   */
+  private Comparison compare(String series, List<Long> samples, List<Long> baseline) {
+    Comparison comparison = new Comparison(series);
+    double[] currentValues = samples.stream().mapToDouble(Long::doubleValue).toArray();
+    comparison.currentMedian = median(currentValues);
+    if (baseline.size() < minBaselineSamples) {
+      comparison.method = "baseline " + baseline.size() + "/" + minBaselineSamples;
+      return comparison;
+    }
+    double[] baselineValues = baseline.stream().mapToDouble(Long::doubleValue).toArray();
+    comparison.compared = true;
+    comparison.baselineMedian = median(baselineValues);
+    boolean significant;
+    if (currentValues.length >= minBaselineSamples) {
+      comparison.method = "mann-whitney";
+      double[] test = mannWhitney(currentValues, baselineValues);
+      comparison.statistic = String.format("p=%.4f", test[0]);
+      comparison.effect = String.format("r=%.2f", test[1]);
+      significant = test[0] < alpha;
+    } else {
+      comparison.method = "median/MAD";
+      double spread =
+          Math.max(
+              MAD_SCALE * mad(baselineValues, comparison.baselineMedian),
+              Math.max(1, 0.01 * comparison.baselineMedian));
+      double z = (comparison.currentMedian - comparison.baselineMedian) / spread;
+      comparison.statistic = String.format("z=%.1f", z);
+      comparison.effect = String.format("z=%.1f", z);
+      significant = z > zThreshold;
+    }
+    double delta = comparison.currentMedian - comparison.baselineMedian;
+    comparison.regressed =
+        significant
+            && delta >= minDeltaMillis
+            && delta >= minIncrease * comparison.baselineMedian;
+    return comparison;
+  }
+
+  /**
+   * One-sided Mann-Whitney U test of the current samples being slower than the baseline, using the
+   * normal approximation with tie and continuity correction.
+   *
+   * @param current current samples
+   * @param baseline baseline samples
+   * @return p-value and rank-biserial correlation (positive when the current samples are slower)
+   */
+  static double[] mannWhitney(double[] current, double[] baseline) {
+    int n1 = current.length;
+    int n2 = baseline.length;
+    int n = n1 + n2;
+    double[][] pooled = new double[n][];
+    for (int i = 0; i < n; i++) {
+      pooled[i] = new double[] {i < n1 ? current[i] : baseline[i - n1], i < n1 ? 1 : 0};
+    }
+    Arrays.sort(pooled, Comparator.comparingDouble(value -> value[0]));
+    double currentRankSum = 0;
+    double tieCorrection = 0;
+    for (int i = 0; i < n; ) {
+      int j = i;
+      while (j < n && pooled[j][0] == pooled[i][0]) {
+        j++;
+      }
+      double averageRank = (i + 1 + j) / 2.0;
+      for (int k = i; k < j; k++) {
+        currentRankSum += pooled[k][1] * averageRank;
+      }
+      double ties = j - i;
+      tieCorrection += ties * ties * ties - ties;
+      i = j;
+    }
+    double u = currentRankSum - n1 * (n1 + 1) / 2.0;
+    double mean = n1 * (double) n2 / 2;
+    double variance = n1 * (double) n2 / 12 * ((n + 1) - tieCorrection / (n * (double) (n - 1)));
+    double p = variance <= 0 ? 1 : 1 - normalCdf((u - mean - 0.5) / Math.sqrt(variance));
+    return new double[] {p, 2 * u / (n1 * (double) n2) - 1};
+  }
+
+  static double median(double[] values) {
+    double[] sorted = values.clone();
+    Arrays.sort(sorted);
+    int middle = sorted.length / 2;
+    return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+  }
+
+  static double mad(double[] values, double median) {
+    return median(Arrays.stream(values).map(value -> Math.abs(value - median)).toArray());
+  }
+
+  /**
+   * Standard normal cumulative distribution function (Abramowitz and Stegun 7.1.26, error below
+   * 1.5e-7).
+   */
+  static double normalCdf(double z) {
+    double x = Math.abs(z) / Math.sqrt(2);
+    double t = 1 / (1 + 0.3275911 * x);
+    double erf =
+        1
+            - ((((1.061405429 * t - 1.453152027) * t + 1.421413741) * t - 0.284496736) * t
+                        + 0.254829592)
+                    * t
+                    * Math.exp(-x * x);
+    return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+  }
+
+  private String formatReport(List<Comparison> comparisons) {
+    long regressions = comparisons.stream().filter(comparison -> comparison.regressed).count();
+    StringBuilder report = new StringBuilder();
+    report.append(
+        String.format(
+            "Duration regression analysis: %d regression(s) in %d series, baseline of the last %d"
+                + " runs%n%n",
+            regressions, comparisons.size(), baselineRuns));
+    report.append(
+        String.format(
+            "%-10s %10s %10s %7s %-14s %-9s %-7s %s%n",
+            "STATUS", "CURRENT", "BASELINE", "CHANGE", "METHOD", "STAT", "EFFECT", "SERIES"));
+    for (Comparison comparison : comparisons) {
+      boolean compared = comparison.compared;
+      report.append(
+          String.format(
+              "%-10s %7.0f ms %10s %7s %-14s %-9s %-7s %s%n",
+              comparison.regressed ? "REGRESSION" : compared ? "ok" : "new",
+              comparison.currentMedian,
+              compared ? String.format("%.0f ms", comparison.baselineMedian) : "-",
+              compared
+                  ? String.format(
+                      "%+.0f%%",
+                      100 * (comparison.currentMedian / comparison.baselineMedian - 1))
+                  : "-",
+              comparison.method,
+              comparison.statistic,
+              comparison.effect,
+              comparison.series));
+    }
+    return report.toString();
+  }
+
+  /**
+   * Adds the report to Allure as the result of a synthetic test. Regressions mark it failed when
+   * they fail the build, broken otherwise, so a non-gating check does not show as a failed test.
+   */
+  private void attachToAllure(String report, long regressions) {
+    Status status =
+        regressions == 0 ? Status.PASSED : failOnRegression ? Status.FAILED : Status.BROKEN;
+    AllureLifecycle lifecycle = new AllureLifecycle(new FileSystemResultsWriter(resultsDir));
+    String uuid = UUID.randomUUID().toString();
+    lifecycle.scheduleTestCase(
+        new TestResult()
+            .setUuid(uuid)
+            .setHistoryId("duration-regression-analysis")
+            .setName("Duration regression analysis")
+            .setFullName("testUtils.DurationRegressionAnalyzer")
+            .setStatus(status)
+            .setStatusDetails(
+                new StatusDetails()
+                    .setMessage(
+                        regressions == 0
+                            ? null
+                            : regressions
+                                + " duration regression(s)"
+                                + (failOnRegression ? "" : ", not failing the build")))
+            .setLabels(List.of(new Label().setName("suite").setValue("Performance"))));
+    lifecycle.startTestCase(uuid);
+    lifecycle.addAttachment(
+        "Duration regression report",
+        "text/plain",
+        ".txt",
+        report.getBytes(StandardCharsets.UTF_8));
+    lifecycle.stopTestCase(uuid);
+    lifecycle.writeTestCase(uuid);
+  }
+
+  private static double getDouble(String key, double defaultValue) {
+    String value = System.getProperty(key);
+    return value == null || value.isEmpty() ? defaultValue : Double.parseDouble(value);
+  }
+
+  /** Result of comparing one series with its baseline. */
+  private static final class Comparison {
+    private final String series;
+    private double currentMedian;
+    private double baselineMedian;
+    private String method = "";
+    private String statistic = "-";
+    private String effect = "-";
+    private boolean compared;
+    private boolean regressed;
+
+    private Comparison(String series) {
+      this.series = series;
+    }
+  }
+}
@@ -0,0 +1,66 @@
+package testUtils;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Test class for the statistics of the duration regression analysis, checked on fixed inputs.
+ */
+public class DurationRegressionAnalyzerTest {
+
+  /** Verifies the median of odd and even sample counts, without reordering the input. */
+  @Test
+  public void testMedianOfOddAndEvenSampleCounts() {
+    double[] odd = {3, 1, 2};
+    Assert.assertEquals(DurationRegressionAnalyzer.median(odd), 2.0);
+    Assert.assertEquals(odd, new double[] {3, 1, 2}, "Input Order");
+    Assert.assertEquals(DurationRegressionAnalyzer.median(new double[] {4, 1, 3, 2}), 2.5);
+  }
+
+  /** Verifies that the median absolute deviation ignores a single outlier. */
+  @Test
+  public void testMedianAbsoluteDeviationIgnoresOutlier() {
+    double[] values = {1, 2, 3, 4, 100};
+    Assert.assertEquals(DurationRegressionAnalyzer.mad(values, 3), 1.0);
+  }
+
+  /**
+   * Verifies the p-value and rank-biserial correlation of fully separated samples: five current
+   * samples all slower than five baseline samples give U = 25, z = 2.507 and r = 1.
+   */
+  @Test
+  public void testMannWhitneyOfSlowerCurrentSamples() {
+    double[] test =
+        DurationRegressionAnalyzer.mannWhitney(
+            new double[] {6, 7, 8, 9, 10}, new double[] {1, 2, 3, 4, 5});
+    Assert.assertEquals(test[0], 0.0061, 0.0002, "p-value");
+    Assert.assertEquals(test[1], 1.0, 1e-9, "Rank-biserial Correlation");
+  }
+
+  /** Verifies that faster current samples are not significant and have a negative effect. */
+  @Test
+  public void testMannWhitneyOfFasterCurrentSamples() {
+    double[] test =
+        DurationRegressionAnalyzer.mannWhitney(
+            new double[] {1, 2, 3, 4, 5}, new double[] {6, 7, 8, 9, 10});
+    Assert.assertTrue(test[0] > 0.99, "p-value " + test[0]);
+    Assert.assertEquals(test[1], -1.0, 1e-9, "Rank-biserial Correlation");
+  }
+
+  /** Verifies that identical samples, all tied, give no evidence and no effect. */
+  @Test
+  public void testMannWhitneyOfTiedSamples() {
+    double[] test =
+        DurationRegressionAnalyzer.mannWhitney(new double[] {5, 5, 5}, new double[] {5, 5, 5});
+    Assert.assertEquals(test[0], 1.0, "p-value");
+    Assert.assertEquals(test[1], 0.0, 1e-9, "Rank-biserial Correlation");
+  }
+
+  /** Verifies the normal distribution function at known quantiles. */
+  @Test
+  public void testNormalCdfAtKnownQuantiles() {
+    Assert.assertEquals(DurationRegressionAnalyzer.normalCdf(0), 0.5, 1e-7);
+    Assert.assertEquals(DurationRegressionAnalyzer.normalCdf(1.959964), 0.975, 1e-6);
+    Assert.assertEquals(DurationRegressionAnalyzer.normalCdf(-1.959964), 0.025, 1e-6);
+  }
+}
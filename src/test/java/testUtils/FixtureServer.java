@@ -0,0 +1,286 @@
+package testUtils;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import utils.ReadProperties;
+
+/**
+ * Embedded HTTP server serving offline fixture pages of the CloudEagle application.
+ *
+ * <p>Reproduces the DOM used by the page objects (login form, dashboard cards, side navigation and
+ * the paginated, lazily loaded applications table) together with the JSON endpoints behind them,
+ * so the framework can be exercised and benchmarked without a real CloudEagle tenant.
+ *
+ * <p>Started automatically by {@code BaseTest} when {@code fixture.server = true}, e.g. with
+ * {@code mvn test -Denv=local}. Every {@code fixture.*} property can be overridden with a system
+ * property of the same name:
+ *
+ * <pre>
+ *   fixture.rows = 250                  # total applications
+ *   fixture.pageSize = 100              # rows per table page
+ *   fixture.batchSize = 25              # rows loaded per lazy-loading batch
+ *   fixture.latencyMillis = 0           # server latency added to every response
+ *   fixture.renderLatencyMillis = 0     # client-side delay before a batch is rendered
+ * </pre>
+ */
+public class FixtureServer {
+
+  private static final Logger logger = LogManager.getLogger(FixtureServer.class);
+
+  private static final Json json = new Json();
+
+  private static HttpServer server;
+
+  private static ExecutorService executor;
+
+  /** Active session tokens issued by the login endpoint */
+  private static final Set<String> sessions = ConcurrentHashMap.newKeySet();
+
+  private final int rows;
+  private final int pageSize;
+  private final int batchSize;
+  private final long latencyMillis;
+  private final long renderLatencyMillis;
+  private final String email;
+  private final String password;
+
+  /** Private constructor reading the fixture configuration. */
+  private FixtureServer() {
+    ReadProperties readProperties = ReadProperties.getInstance();
+    this.rows = Integer.parseInt(getSetting(readProperties, "fixture.rows", "250"));
+    this.pageSize = Integer.parseInt(getSetting(readProperties, "fixture.pageSize", "100"));
+    this.batchSize = Integer.parseInt(getSetting(readProperties, "fixture.batchSize", "25"));
+    this.latencyMillis = Long.parseLong(getSetting(readProperties, "fixture.latencyMillis", "0"));
+    this.renderLatencyMillis =
+        Long.parseLong(getSetting(readProperties, "fixture.renderLatencyMillis", "0"));
+    this.email = readProperties.getProperty("email");
+    this.password = readProperties.getProperty("password");
+  }
+
+  /**
+   * Starts the fixture server on the host and port of the configured {@code url}, unless it is
+   * already running.
+   *
+   * @throws IOException if the server cannot bind to the port
+   */
+  public static void start() throws IOException {
+    start(URI.create(ReadProperties.getInstance().getProperty("url")));
+  }
+
+  /**
+   * Starts the fixture server on the host and port of a URL, unless it is already running.
+   *
+   * @param url base URL to serve, port 0 picks a free port
+   * @return base URL of the running server
+   * @throws IOException if the server cannot bind to the port
+   */
+  public static synchronized URI start(URI url) throws IOException {
+    if (server != null) {
+      return getBaseUrl();
+    }
+    FixtureServer fixture = new FixtureServer();
+    // Small responses otherwise stall on Nagle's algorithm and delayed ACKs (~40 ms each)
+    System.setProperty("sun.net.httpserver.nodelay", "true");
+    executor = Executors.newCachedThreadPool();
+    server = HttpServer.create(new InetSocketAddress(url.getHost(), url.getPort()), 0);
+    server.setExecutor(executor);
+    server.createContext("/", fixture::handle);
+    server.start();
+    logger.info(
+        "Fixture server started at {} with {} rows, page size {}, batch size {}",
+        getBaseUrl(),
+        fixture.rows,
+        fixture.pageSize,
+        fixture.batchSize);
+    return getBaseUrl();
+  }
+
+  /**
+   * Tells whether the fixture server is running.
+   *
+   * @return true if started and not stopped
+   */
+  public static synchronized boolean isRunning() {
+    return server != null;
+  }
+
+  private static URI getBaseUrl() {
+    InetSocketAddress address = server.getAddress();
+    return URI.create("http://" + address.getHostString() + ":" + address.getPort() + "/");
+  }
+
+  /** Stops the fixture server if it is running. */
+  public static synchronized void stop() {
+    if (server != null) {
+      server.stop(0);
+      executor.shutdownNow();
+      server = null;
+      sessions.clear();
+      logger.info("Fixture server stopped");
+    }
+  }
+
+  /**
+   * Routes a request to the matching page or endpoint after the configured latency.
+   *
+   * @param exchange the HTTP exchange
+   * @throws IOException if the response cannot be written
+   */
+  private void handle(HttpExchange exchange) throws IOException {
+    try (exchange) {
+      sleep(latencyMillis);
+      String path = exchange.getRequestURI().getPath();
+      switch (path) {
+        case "/", "/login" -> sendResource(exchange, "login.html", "text/html");
+        case "/dashboard" -> sendResource(exchange, "dashboard.html", "text/html");
+        case "/applications" -> sendResource(exchange, "applications.html", "text/html");
+        case "/fixture-app.js" -> sendResource(exchange, "fixture-app.js", "text/javascript");
+        case "/fixture.css" -> sendResource(exchange, "fixture.css", "text/css");
+        case "/api/login" -> handleLogin(exchange);
+        case "/api/dashboard/cards" -> handleCards(exchange);
+        case "/api/applications" -> handleApplications(exchange);
+        default -> send(exchange, 404, "text/plain", "Not Found");
+      }
+    }
+  }
+
+  private void handleLogin(HttpExchange exchange) throws IOException {
+    if (!"POST".equals(exchange.getRequestMethod())) {
+      send(exchange, 405, "text/plain", "Method Not Allowed");
+      return;
+    }
+    String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+    Map<String, Object> credentials = json.toType(body, Json.MAP_TYPE);
+    if (!email.equals(credentials.get("email")) || !password.equals(credentials.get("password"))) {
+      send(
+          exchange, 401, "application/json", json.toJson(Map.of("error", "Invalid credentials")));
+      return;
+    }
+    String token = UUID.randomUUID().toString();
+    sessions.add(token);
+    exchange.getResponseHeaders().add("Set-Cookie", "session=" + token + "; Path=/");
+    send(exchange, 200, "application/json", json.toJson(Map.of("user", email)));
+  }
+
+  private void handleCards(HttpExchange exchange) throws IOException {
+    if (isAuthenticated(exchange)) {
+      Map<String, Object> card =
+          Map.of("title", "Managed Applications", "count", rows, "target", "/applications");
+      send(
+          exchange,
+          200,
+          "application/json",
+          json.toJson(Map.of("user", email, "cards", List.of(card))));
+    }
+  }
+
+  /**
+   * Serves one lazy-loading batch of a table page. Row data keys restart at zero on every page.
+   *
+   * @param exchange the HTTP exchange with {@code page} and {@code offset} query parameters
+   * @throws IOException if the response cannot be written
+   */
+  private void handleApplications(HttpExchange exchange) throws IOException {
+    if (!isAuthenticated(exchange)) {
+      return;
+    }
+    Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+    int page = Integer.parseInt(query.getOrDefault("page", "0"));
+    int offset = Integer.parseInt(query.getOrDefault("offset", "0"));
+    int pages = Math.max(1, (rows + pageSize - 1) / pageSize);
+    int pageRows = Math.max(0, Math.min(pageSize, rows - page * pageSize));
+    List<Map<String, Object>> items = new ArrayList<>();
+    for (int key = offset; key < Math.min(pageRows, offset + batchSize); key++) {
+      items.add(Map.of("key", key, "name", "Application " + (page * pageSize + key + 1)));
+    }
+    Map<String, Object> response = new HashMap<>();
+    response.put("pages", pages);
+    response.put("pageRows", pageRows);
+    response.put("total", rows);
+    response.put("items", items);
+    send(exchange, 200, "application/json", json.toJson(response));
+  }
+
+  private boolean isAuthenticated(HttpExchange exchange) throws IOException {
+    List<String> cookies = exchange.getRequestHeaders().getOrDefault("Cookie", List.of());
+    for (String header : cookies) {
+      for (String cookie : header.split(";")) {
+        String[] pair = cookie.trim().split("=", 2);
+        if (pair.length == 2 && pair[0].equals("session") && sessions.contains(pair[1])) {
+          return true;
+        }
+      }
+    }
+    send(exchange, 401, "application/json", json.toJson(Map.of("error", "Not logged in")));
+    return false;
+  }
+
+  private void sendResource(HttpExchange exchange, String name, String contentType)
+      throws IOException {
+    try (InputStream inputStream =
+        FixtureServer.class.getClassLoader().getResourceAsStream("fixtures/" + name)) {
+      if (inputStream == null) {
+        send(exchange, 404, "text/plain", "Not Found");
+        return;
+      }
+      String content =
+          new String(inputStream.readAllBytes(), StandardCharsets.UTF_8)
+              .replace("${renderLatencyMillis}", String.valueOf(renderLatencyMillis));
+      send(exchange, 200, contentType, content);
+    }
+  }
+
+  private static void send(HttpExchange exchange, int status, String contentType, String body)
+      throws IOException {
+    byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+    exchange.getResponseHeaders().set("Content-Type", contentType + "; charset=utf-8");
+    exchange.sendResponseHeaders(status, bytes.length);
+    try (OutputStream outputStream = exchange.getResponseBody()) {
+      outputStream.write(bytes);
+    }
+  }
+
+  private static Map<String, String> parseQuery(String rawQuery) {
+    Map<String, String> query = new HashMap<>();
+    if (rawQuery != null) {
+      for (String pair : rawQuery.split("&")) {
+        String[] keyValue = pair.split("=", 2);
+        query.put(keyValue[0], keyValue.length > 1 ? keyValue[1] : "");
+      }
+    }
+    return query;
+  }
+
+  private static void sleep(long millis) {
+    if (millis > 0) {
+      try {
+        Thread.sleep(millis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+    }
+  }
+
+  private static String getSetting(ReadProperties readProperties, String key, String defaultValue) {
+    String value = System.getProperty(key, readProperties.getProperty(key));
+    return value == null || value.isEmpty() ? defaultValue : value;
+  }
+}
@@ -0,0 +1,73 @@
+package testUtils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Tenant of a data-driven run: application URL, credentials and expected dashboard counts.
+ *
+ * <p>{@link #toString()} returns the tenant name only, so the name identifies the row in the
+ * Allure report, the test event stream and the logs without exposing the password.
+ */
+public class Tenant {
+
+  private final String name;
+  private final String url;
+  private final String email;
+  private final String password;
+  private final Map<String, Integer> expectedCounts;
+
+  /**
+   * Creates a tenant row.
+   *
+   * @param name tenant name, e.g. {@code sandbox20}
+   * @param url application URL of the tenant
+   * @param email login email
+   * @param password login password
+   * @param expectedCounts expected count of each dashboard card by title, possibly empty
+   */
+  public Tenant(
+      String name,
+      String url,
+      String email,
+      String password,
+      Map<String, Integer> expectedCounts) {
+    this.name = name;
+    this.url = url;
+    this.email = email;
+    this.password = password;
+    this.expectedCounts = Collections.unmodifiableMap(new LinkedHashMap<>(expectedCounts));
+  }
+
+  public String getName() {
+    return name;
+  }
+
+  public String getUrl() {
+    return url;
+  }
+
+  public String getEmail() {
+    return email;
+  }
+
+  public String getPassword() {
+    return password;
+  }
+
+  /**
+   * Returns the expected count of a dashboard card.
+   *
+   * @param cardTitle card title, e.g. {@code Managed Applications}
+   * @return expected count, or null when the row does not define one
+   */
+  public Integer getExpectedCount(String cardTitle) {
+    return expectedCounts.get(cardTitle);
+  }
+
+  @Override
+  public String toString() {
+    return name;
+  }
+}
@@ -0,0 +1,276 @@
+package testUtils;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonException;
+import org.openqa.selenium.json.JsonInput;
+import org.testng.annotations.DataProvider;
+import utils.ReadProperties;
+
+/**
+ * Parallel TestNG data provider streaming {@link Tenant} rows from a local CSV or JSON file.
+ *
+ * <p>The file named by {@code tenants.file} is read lazily, one row per iteration, and closed once
+ * the last row is read. Rows run concurrently on the suite's {@code data-provider-thread-count}
+ * threads, each with its own browser session.
+ *
+ * <h3>Limits:</h3>
+ *
+ * <ul>
+ *   <li>For a parallel data provider, TestNG drains the whole iterator into its list of workers
+ *       before the first row runs, so every {@link Tenant} of the file, password included, is held
+ *       in memory for the duration of the test method. Only the parsing is streamed; keep tenant
+ *       files to a size whose rows fit in memory.
+ * </ul>
+ *
+ * <p>CSV files start with a header line; the columns after {@code name,url,email,password} are
+ * dashboard card titles holding the expected counts, left empty when not checked. Fields can be
+ * double-quoted to contain commas.
+ *
+ * <pre>
+ *   name,url,email,password,Managed Applications
+ *   sandbox20,https://sandbox20.cloudeagle.info/,support+sandbox20@cloudeagle.ai,secret,42
+ * </pre>
+ *
+ * <p>JSON files hold an array of objects:
+ *
+ * <pre>
+ *   [{"name": "sandbox20", "url": "...", "email": "...", "password": "...",
+ *     "expectedCounts": {"Managed Applications": 42}}]
+ * </pre>
+ *
+ * <h3>Usage:</h3>
+ *
+ * <pre>{@code
+ * @Test(dataProvider = "tenants", dataProviderClass = TenantDataProvider.class)
+ * public void testDashboard(Tenant tenant) { ... }
+ * }</pre>
+ */
+public class TenantDataProvider {
+
+  private static final Logger logger = LogManager.getLogger(TenantDataProvider.class);
+
+  /** Leading CSV columns; the remaining ones are expected card counts */
+  private static final List<String> CSV_COLUMNS = List.of("name", "url", "email", "password");
+
+  /**
+   * Streams the tenant rows of {@code tenants.file}.
+   *
+   * @return one {@link Tenant} per row, none when no file is configured
+   * @throws UncheckedIOException if the file cannot be read
+   */
+  @DataProvider(name = "tenants", parallel = true)
+  public static Iterator<Object[]> tenants() {
+    ReadProperties readProperties = ReadProperties.getInstance();
+    String key = "tenants.file";
+    String file = System.getProperty(key, readProperties.getProperty(key));
+    if (file == null || file.isEmpty()) {
+      logger.warn("No tenants to run, set tenants.file to a CSV or JSON tenant file");
+      return Collections.emptyIterator();
+    }
+    Path path = Paths.get(file);
+    try {
+      BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8);
+      logger.info("Streaming tenants from {}", path);
+      return file.toLowerCase().endsWith(".json")
+          ? new JsonTenantIterator(reader)
+          : new CsvTenantIterator(reader, path);
+    } catch (IOException e) {
+      throw new UncheckedIOException("Unable to read tenants from " + path, e);
+    }
+  }
+
+  /** Iterator reading one row ahead and closing its reader after the last row. */
+  private abstract static class TenantIterator implements Iterator<Object[]> {
+
+    private final Reader reader;
+    private Tenant next;
+    private boolean done;
+
+    TenantIterator(Reader reader) {
+      this.reader = reader;
+    }
+
+    /**
+     * Reads the next row.
+     *
+     * @return next tenant, or null at the end of the file
+     * @throws IOException if the file cannot be read
+     */
+    abstract Tenant readNext() throws IOException;
+
+    @Override
+    public synchronized boolean hasNext() {
+      if (next == null && !done) {
+        try {
+          next = readNext();
+          if (next == null) {
+            done = true;
+            reader.close();
+          }
+        } catch (IOException e) {
+          throw new UncheckedIOException("Unable to read tenants", e);
+        }
+      }
+      return next != null;
+    }
+
+    @Override
+    public synchronized Object[] next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      Tenant tenant = next;
+      next = null;
+      return new Object[] {tenant};
+    }
+  }
+
+  /** Streams a CSV tenant file line by line. */
+  private static class CsvTenantIterator extends TenantIterator {
+
+    private final BufferedReader reader;
+    private final Path path;
+    private List<String> header;
+    private int lineNumber;
+
+    CsvTenantIterator(BufferedReader reader, Path path) {
+      super(reader);
+      this.reader = reader;
+      this.path = path;
+    }
+
+    @Override
+    Tenant readNext() throws IOException {
+      if (header == null) {
+        String line = nextLine();
+        if (line == null) {
+          return null;
+        }
+        header = parseLine(line);
+        if (header.size() < CSV_COLUMNS.size()
+            || !header.subList(0, CSV_COLUMNS.size()).equals(CSV_COLUMNS)) {
+          throw new IOException(path + ": header must start with " + String.join(",", CSV_COLUMNS));
+        }
+      }
+      String line = nextLine();
+      if (line == null) {
+        return null;
+      }
+      List<String> fields = parseLine(line);
+      if (fields.size() < CSV_COLUMNS.size() || fields.size() > header.size()) {
+        throw new IOException(
+            path + ":" + lineNumber + ": expected up to " + header.size() + " fields");
+      }
+      Map<String, Integer> expectedCounts = new LinkedHashMap<>();
+      for (int index = CSV_COLUMNS.size(); index < fields.size(); index++) {
+        String count = fields.get(index).trim();
+        if (!count.isEmpty()) {
+          try {
+            expectedCounts.put(header.get(index), Integer.parseInt(count));
+          } catch (NumberFormatException e) {
+            throw new IOException(path + ":" + lineNumber + ": invalid count '" + count + "'", e);
+          }
+        }
+      }
+      return new Tenant(fields.get(0), fields.get(1), fields.get(2), fields.get(3), expectedCounts);
+    }
+
+    /** Returns the next non-blank line, or null at the end of the file. */
+    private String nextLine() throws IOException {
+      String line;
+      do {
+        line = reader.readLine();
+        lineNumber++;
+      } while (line != null && line.isBlank());
+      return line;
+    }
+
+    /** Splits a CSV line, unquoting double-quoted fields. */
+    private static List<String> parseLine(String line) {
+      List<String> fields = new ArrayList<>();
+      StringBuilder field = new StringBuilder();
+      boolean quoted = false;
+      for (int index = 0; index < line.length(); index++) {
+        char c = line.charAt(index);
+        if (quoted) {
+          if (c == '"' && index + 1 < line.length() && line.charAt(index + 1) == '"') {
+            field.append('"');
+            index++;
+          } else if (c == '"') {
+            quoted = false;
+          } else {
+            field.append(c);
+          }
+        } else if (c == '"') {
+          quoted = true;
+        } else if (c == ',') {
+          fields.add(field.toString());
+          field.setLength(0);
+        } else {
+          field.append(c);
+        }
+      }
+      fields.add(field.toString());
+      return fields;
+    }
+  }
+
+  /** Streams a JSON array of tenant objects element by element. */
+  private static class JsonTenantIterator extends TenantIterator {
+
+    private final JsonInput input;
+    private boolean started;
+
+    JsonTenantIterator(Reader reader) {
+      super(reader);
+      this.input = new Json().newInput(reader);
+    }
+
+    @Override
+    Tenant readNext() throws IOException {
+      try {
+        if (!started) {
+          input.beginArray();
+          started = true;
+        }
+        if (!input.hasNext()) {
+          input.endArray();
+          return null;
+        }
+        Map<String, Object> row = input.read(Json.MAP_TYPE);
+        Map<String, Integer> expectedCounts = new LinkedHashMap<>();
+        Object counts = row.get("expectedCounts");
+        if (counts instanceof Map<?, ?> countMap) {
+          countMap.forEach(
+              (title, count) ->
+                  expectedCounts.put(String.valueOf(title), ((Number) count).intValue()));
+        }
+        return new Tenant(
+            (String) row.get("name"),
+            (String) row.get("url"),
+            (String) row.get("email"),
+            (String) row.get("password"),
+            expectedCounts);
+      } catch (JsonException | ClassCastException e) {
+        throw new IOException("Invalid tenant row: " + e.getMessage(), e);
+      }
+    }
+  }
+}
@@ -0,0 +1,212 @@
+package testUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.openqa.selenium.json.Json;
+import org.openqa.selenium.json.JsonOutput;
+import utils.ReadProperties;
+
+/**
+ * Asynchronous JSON Lines writer for live test execution events.
+ *
+ * <p>Events are serialized on the calling thread and handed to a bounded queue; a single writer
+ * thread drains the queue in batches and appends them to the event file through a {@link
+ * FileChannel}, so listeners never block on disk I/O. Every batch is written as soon as it is
+ * drained, which lets {@code tail -f} or a CI watchdog follow the run and abort it early. When the
+ * queue is full, events are dropped and counted instead of growing memory.
+ *
+ * <h3>Configuration:</h3>
+ *
+ * <pre>
+ *   testEvents.file = test-results/test-events.jsonl
+ *   testEvents.queueCapacity = 4096
+ * </pre>
+ *
+ * <p>Each property can be overridden with a system property of the same name. The file is
+ * truncated when the first event of a run is written.
+ */
+public class TestEventWriter {
+
+  private static final Logger logger = LogManager.getLogger(TestEventWriter.class);
+
+  /** Maximum number of events written with a single channel write */
+  private static final int BATCH_SIZE = 256;
+
+  /** Queue marker telling the writer thread to stop */
+  private static final String END_OF_STREAM = "";
+
+  private static TestEventWriter instance;
+
+  private final Json json = new Json();
+  private final Path eventFile;
+  private final BlockingQueue<String> queue;
+  private final AtomicLong droppedEvents = new AtomicLong();
+  private final Thread writerThread;
+  private FileChannel channel;
+
+  /** Private constructor opening the event file and starting the writer thread. */
+  private TestEventWriter() {
+    ReadProperties readProperties = ReadProperties.getInstance();
+    this.eventFile =
+        Paths.get(getSetting(readProperties, "testEvents.file", "test-results/test-events.jsonl"));
+    this.queue =
+        new ArrayBlockingQueue<>(
+            Integer.parseInt(getSetting(readProperties, "testEvents.queueCapacity", "4096")));
+    try {
+      if (eventFile.getParent() != null) {
+        Files.createDirectories(eventFile.getParent());
+      }
+      channel =
+          FileChannel.open(
+              eventFile,
+              StandardOpenOption.CREATE,
+              StandardOpenOption.WRITE,
+              StandardOpenOption.TRUNCATE_EXISTING);
+    } catch (IOException e) {
+      logger.error("Failed to open test event file {}, events are discarded", eventFile, e);
+    }
+    this.writerThread = new Thread(this::drain, "test-event-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+    Runtime.getRuntime().addShutdownHook(new Thread(this::close, "test-event-writer-close"));
+  }
+
+  /**
+   * Returns the singleton instance of {@code TestEventWriter}.
+   *
+   * @return the singleton {@code TestEventWriter} instance
+   */
+  public static synchronized TestEventWriter getInstance() {
+    if (instance == null) {
+      instance = new TestEventWriter();
+    }
+    return instance;
+  }
+
+  /**
+   * Queues an event for writing without blocking.
+   *
+   * <p>The event type and a UTC timestamp are added in front of the given fields. Null values are
+   * omitted.
+   *
+   * @param type event type, e.g. {@code testStart}
+   * @param fields event fields
+   */
+  public void write(String type, Map<String, Object> fields) {
+    Map<String, Object> event = new LinkedHashMap<>();
+    event.put("event", type);
+    event.put("timestamp", Instant.now().toString());
+    fields.forEach(
+        (key, value) -> {
+          if (value != null) {
+            event.put(key, value);
+          }
+        });
+    StringBuilder line = new StringBuilder();
+    try (JsonOutput output = json.newOutput(line)) {
+      output.setPrettyPrint(false).writeClassName(false).write(event);
+    }
+    if (!queue.offer(line.append('\n').toString())) {
+      droppedEvents.incrementAndGet();
+    }
+  }
+
+  /**
+   * Returns the number of events dropped because the queue was full.
+   *
+   * @return dropped event count
+   */
+  public long getDroppedEvents() {
+    return droppedEvents.get();
+  }
+
+  /** Writes the queued events, stops the writer thread and closes the event file. */
+  public void close() {
+    if (!writerThread.isAlive()) {
+      return;
+    }
+    try {
+      queue.put(END_OF_STREAM);
+      writerThread.join(TimeUnit.SECONDS.toMillis(5));
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    if (droppedEvents.get() > 0) {
+      logger.warn("{} test events were dropped, queue was full", droppedEvents.get());
+    }
+  }
+
+  /** Writer thread loop, writing drained batches until the end of stream marker. */
+  private void drain() {
+    List<String> batch = new ArrayList<>(BATCH_SIZE);
+    boolean open = true;
+    try {
+      while (open) {
+        batch.add(queue.take());
+        queue.drainTo(batch, BATCH_SIZE - 1);
+        StringBuilder lines = new StringBuilder();
+        for (String line : batch) {
+          if (line.equals(END_OF_STREAM)) {
+            open = false;
+          } else {
+            lines.append(line);
+          }
+        }
+        batch.clear();
+        writeToChannel(lines);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      closeChannel();
+    }
+  }
+
+  private void writeToChannel(CharSequence lines) {
+    if (channel == null || lines.length() == 0) {
+      return;
+    }
+    ByteBuffer buffer = StandardCharsets.UTF_8.encode(lines.toString());
+    try {
+      while (buffer.hasRemaining()) {
+        channel.write(buffer);
+      }
+    } catch (IOException e) {
+      logger.error("Failed to write test events to {}, events are discarded", eventFile, e);
+      closeChannel();
+    }
+  }
+
+  private void closeChannel() {
+    if (channel != null) {
+      try {
+        channel.close();
+      } catch (IOException e) {
+        logger.error("Failed to close test event file {}", eventFile, e);
+      }
+      channel = null;
+    }
+  }
+
+  private static String getSetting(ReadProperties readProperties, String key, String defaultValue) {
+    String value = System.getProperty(key, readProperties.getProperty(key));
+    return value == null || value.isEmpty() ? defaultValue : value;
+  }
+}
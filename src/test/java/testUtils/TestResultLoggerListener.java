@@ -1,15 +1,59 @@
 package testUtils;
 
+import base.WebDriverHelper;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestContext;
 import org.testng.ITestListener;
+import org.testng.ITestNGMethod;
 import org.testng.ITestResult;
+import utils.ReadProperties;
 
-/** TestNG listener that logs test execution events using Log4j2. */
-public class TestResultLoggerListener implements ITestListener {
+/**
+ * TestNG listener that logs test execution events using Log4j2 and streams them as JSON Lines.
+ *
+ * <p>Every event is also written to {@code test-results/test-events.jsonl} through {@link
+ * TestEventWriter} while the run progresses:
+ *
+ * <ul>
+ *   <li>{@code suiteStart} / {@code suiteFinish} with the pass, fail and skip counts
+ *   <li>{@code testStart} / {@code testFinish} with status, thread, browser, duration of the test
+ *       method body, time spent in {@code @BeforeMethod} setup and the failure class
+ *   <li>{@code configuration} for every configuration method, with its phase and duration; the
+ *       {@code afterMethod} phase carries the teardown time of the preceding test
+ * </ul>
+ */
+public class TestResultLoggerListener
+    implements ITestListener, ISuiteListener, IInvokedMethodListener {
 
   private static final Logger logger = LogManager.getLogger(TestResultLoggerListener.class);
 
+  private static final TestEventWriter eventWriter = TestEventWriter.getInstance();
+
+  /** Start of the test or configuration method running on the current thread, in nanoseconds */
+  private static final ThreadLocal<Long> invocationStart = new ThreadLocal<>();
+
+  /** Duration of the last test method body on this thread, excluding listeners and setup */
+  private static final ThreadLocal<Long> testMillis = new ThreadLocal<>();
+
+  /** Setup time accumulated by {@code @BeforeMethod} methods for the next test on this thread */
+  private static final ThreadLocal<Long> setupMillis = ThreadLocal.withInitial(() -> 0L);
+
+  /** Last test finished on the current thread, owner of the following teardown */
+  private static final ThreadLocal<String> lastTest = new ThreadLocal<>();
+
+  private final AtomicInteger passed = new AtomicInteger();
+  private final AtomicInteger failed = new AtomicInteger();
+  private final AtomicInteger skipped = new AtomicInteger();
+
   /**
    * Called when a test method starts. Logs the method name and parameters.
    *
@@ -18,6 +62,7 @@ public class TestResultLoggerListener implements ITestListener {
   @Override
   public void onTestStart(ITestResult result) {
     logger.info("<=========== Test Started : {} ===========>", result.getMethod().getMethodName());
+    eventWriter.write("testStart", testFields(result));
   }
 
   /**
@@ -28,6 +73,8 @@ public class TestResultLoggerListener implements ITestListener {
   @Override
   public void onTestSuccess(ITestResult result) {
     logger.info("<=========== Test Passed : {} ===========>\n", result.getMethod().getMethodName());
+    passed.incrementAndGet();
+    writeTestFinish(result, "PASSED");
   }
 
   /**
@@ -41,6 +88,8 @@ public class TestResultLoggerListener implements ITestListener {
         "<=========== Test Failed : {} ===========>",
         result.getMethod().getMethodName(),
         result.getThrowable());
+    failed.incrementAndGet();
+    writeTestFinish(result, "FAILED");
   }
 
   /**
@@ -52,5 +101,166 @@ public class TestResultLoggerListener implements ITestListener {
   public void onTestSkipped(ITestResult result) {
     logger.warn(
         "<=========== Test Skipped : {} ===========>\n", result.getMethod().getMethodName());
+    skipped.incrementAndGet();
+    writeTestFinish(result, "SKIPPED");
+  }
+
+  /**
+   * Called after all tests of a context ran. Logs the wait time saved by expected-negative probes.
+   *
+   * @param context the test context
+   */
+  @Override
+  public void onFinish(ITestContext context) {
+    logger.info(
+        "Expected-negative probes saved {} ms of wait time so far",
+        WebDriverHelper.getNegativeWaitSavedMillis());
+  }
+
+  /**
+   * Called before a suite starts. Emits a {@code suiteStart} event.
+   *
+   * @param suite the suite
+   */
+  @Override
+  public void onStart(ISuite suite) {
+    Map<String, Object> fields = new LinkedHashMap<>();
+    fields.put("suite", suite.getName());
+    fields.put("parallel", suite.getParallel());
+    eventWriter.write("suiteStart", fields);
+  }
+
+  /**
+   * Called after a suite finished. Emits a {@code suiteFinish} event with the result counts.
+   *
+   * @param suite the suite
+   */
+  @Override
+  public void onFinish(ISuite suite) {
+    Map<String, Object> fields = new LinkedHashMap<>();
+    fields.put("suite", suite.getName());
+    fields.put("passed", passed.get());
+    fields.put("failed", failed.get());
+    fields.put("skipped", skipped.get());
+    fields.put("droppedEvents", eventWriter.getDroppedEvents());
+    eventWriter.write("suiteFinish", fields);
+  }
+
+  /**
+   * Called before a test or configuration method runs. Starts timing the method.
+   *
+   * @param method the invoked method
+   * @param testResult the result of the invoked method
+   */
+  @Override
+  public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+    invocationStart.set(System.nanoTime());
+  }
+
+  /**
+   * Called after a test or configuration method ran. Records the test body time, or emits a
+   * {@code configuration} event and accumulates {@code @BeforeMethod} time as setup of the next
+   * test.
+   *
+   * @param method the invoked method
+   * @param testResult the result of the invoked method
+   */
+  @Override
+  public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+    Long start = invocationStart.get();
+    if (start == null) {
+      return;
+    }
+    invocationStart.remove();
+    long durationMillis = (System.nanoTime() - start) / 1_000_000;
+    if (!method.isConfigurationMethod()) {
+      testMillis.set(durationMillis);
+      return;
+    }
+    ITestNGMethod configuration = method.getTestMethod();
+    String phase = getPhase(configuration);
+    if (configuration.isBeforeMethodConfiguration()) {
+      setupMillis.set(setupMillis.get() + durationMillis);
+    }
+    Map<String, Object> fields = new LinkedHashMap<>();
+    fields.put(
+        "method",
+        configuration.getRealClass().getSimpleName() + "." + configuration.getMethodName());
+    fields.put("phase", phase);
+    fields.put("test", configuration.isAfterMethodConfiguration() ? lastTest.get() : null);
+    fields.put("status", getStatus(testResult.getStatus()));
+    fields.put("thread", Thread.currentThread().getName());
+    fields.put("durationMillis", durationMillis);
+    fields.put("failureClass", getFailureClass(testResult));
+    eventWriter.write("configuration", fields);
+  }
+
+  private void writeTestFinish(ITestResult result, String status) {
+    Map<String, Object> fields = testFields(result);
+    fields.put("status", status);
+    Long bodyMillis = testMillis.get();
+    fields.put(
+        "durationMillis",
+        bodyMillis != null ? bodyMillis : result.getEndMillis() - result.getStartMillis());
+    fields.put("setupMillis", setupMillis.get());
+    fields.put("failureClass", getFailureClass(result));
+    if (result.getThrowable() != null) {
+      String message = String.valueOf(result.getThrowable().getMessage());
+      fields.put("failureMessage", message.lines().findFirst().orElse(""));
+    }
+    setupMillis.remove();
+    testMillis.remove();
+    lastTest.set((String) fields.get("test"));
+    eventWriter.write("testFinish", fields);
+  }
+
+  private static Map<String, Object> testFields(ITestResult result) {
+    Map<String, Object> fields = new LinkedHashMap<>();
+    fields.put(
+        "test",
+        result.getTestClass().getRealClass().getSimpleName()
+            + "."
+            + result.getMethod().getMethodName());
+    if (result.getParameters().length > 0) {
+      fields.put("parameters", Arrays.stream(result.getParameters()).map(String::valueOf).toList());
+    }
+    fields.put("thread", Thread.currentThread().getName());
+    ReadProperties readProperties = ReadProperties.getInstance();
+    fields.put("browser", System.getProperty("browser", readProperties.getProperty("browser")));
+    return fields;
+  }
+
+  private static String getFailureClass(ITestResult result) {
+    return result.getThrowable() == null ? null : result.getThrowable().getClass().getName();
+  }
+
+  private static String getPhase(ITestNGMethod method) {
+    if (method.isBeforeSuiteConfiguration()) {
+      return "beforeSuite";
+    } else if (method.isAfterSuiteConfiguration()) {
+      return "afterSuite";
+    } else if (method.isBeforeTestConfiguration()) {
+      return "beforeTest";
+    } else if (method.isAfterTestConfiguration()) {
+      return "afterTest";
+    } else if (method.isBeforeClassConfiguration()) {
+      return "beforeClass";
+    } else if (method.isAfterClassConfiguration()) {
+      return "afterClass";
+    } else if (method.isBeforeMethodConfiguration()) {
+      return "beforeMethod";
+    } else if (method.isAfterMethodConfiguration()) {
+      return "afterMethod";
+    }
+    return "other";
+  }
+
+  private static String getStatus(int status) {
+    return switch (status) {
+      case ITestResult.SUCCESS -> "PASSED";
+      case ITestResult.FAILURE -> "FAILED";
+      case ITestResult.SKIP -> "SKIPPED";
+      default -> "UNKNOWN";
+    };
   }
 }
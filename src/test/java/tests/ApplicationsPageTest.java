@@ -0,0 +1,39 @@
+package tests;
+
+import java.util.HashSet;
+import java.util.List;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import pages.ApplicationsPage;
+import pages.DashboardPage;
+import pages.LoginPage;
+
+/**
+ * Test class for verifying the content of the Applications page.
+ */
+public class ApplicationsPageTest extends BaseTest {
+
+  /**
+   * Verifies that every application row loaded on the first table page has a name and that no
+   * application is listed twice. The names are read from one DOM snapshot.
+   */
+  @Test
+  public void testLoadedApplicationsHaveUniqueNames() {
+    WebDriver driver = getDriver();
+    String email = readProperties.getProperty("email");
+    new LoginPage(driver).login(email, readProperties.getProperty("password"));
+    DashboardPage dashboardPage = new DashboardPage(driver);
+    Assert.assertTrue(dashboardPage.isUserLoggedInToDashboard(email), "User Login Failure");
+    dashboardPage.waitForDashboardToLoad();
+    dashboardPage.navigateToCardMenu("Managed Applications");
+
+    ApplicationsPage applicationsPage = new ApplicationsPage(driver);
+    applicationsPage.waitForApplicationsPageToLoad();
+    List<String> names = applicationsPage.getLoadedApplicationNames();
+
+    Assert.assertFalse(names.isEmpty(), "No application rows loaded");
+    Assert.assertTrue(names.stream().noneMatch(String::isBlank), "Blank application name");
+    Assert.assertEquals(new HashSet<>(names).size(), names.size(), "Duplicate applications");
+  }
+}
@@ -1,57 +1,211 @@
 package tests;
 
+import base.EmulateNetwork;
+import base.RecoverableSession;
+import base.RetryBudget;
+import base.SessionStartupProfile;
 import base.WebDriverManager;
 import io.qameta.allure.Allure;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.openqa.selenium.OutputType;
 import org.openqa.selenium.TakesScreenshot;
 import org.openqa.selenium.WebDriver;
+import org.testng.IHookCallBack;
+import org.testng.IHookable;
 import org.testng.ITestResult;
+import org.testng.SkipException;
 import org.testng.annotations.AfterMethod;
+import org.testng.annotations.AfterSuite;
 import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.BeforeSuite;
+import pages.BasePage;
+import testUtils.FixtureServer;
+import testUtils.Tenant;
+import testUtils.TestEventWriter;
 import utils.ReadProperties;
 
 /**
  * BaseTest provides common test setup and teardown functionality for TestNG tests.
  *
  * Responsibilities:
- * - Manage WebDriver lifecycle (initialize before each test and quit after each test).
- * - Read configuration (e.g., application URL) via ReadProperties.
+ * - Manage WebDriver lifecycle (initialize before each test and quit after each test), with one
+ *   driver per thread so that parallel data provider rows get isolated sessions.
+ * - Read configuration (e.g., application URL) via ReadProperties, or take the URL of the Tenant
+ *   a data-driven test runs for.
+ * - Start the offline fixture server for the "local" environment (fixture.server = true).
+ * - Emulate the network profile of an @EmulateNetwork test method or class, skipping the test
+ *   on browsers that cannot emulate it.
+ * - With a retry budget (retry.budget), rerun steps failed on infrastructure errors in a
+ *   recoverable session checkpointed after the first navigation, and report the retries.
  * - On test failure, capture a timestamped screenshot, save it under "test-results/screenshots",
  *   and attach the image to the Allure report.
  *
  * Intended to be extended by concrete test classes.
  */
-public class BaseTest {
+public class BaseTest implements IHookable {
 
-  protected WebDriver driver;
+  /** Driver of the test method running on each thread */
+  private final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
   protected ReadProperties readProperties = ReadProperties.getInstance();
   protected static final Logger logger = LogManager.getLogger();
 
+  /**
+   * Start the offline fixture server once per suite when the environment enables it.
+   *
+   * @throws IOException if the fixture server cannot be started
+   */
+  @BeforeSuite(alwaysRun = true)
+  public void startFixtureServer() throws IOException {
+    if (Boolean.parseBoolean(readProperties.getProperty("fixture.server"))) {
+      FixtureServer.start();
+    }
+  }
+
+  /** Stop the offline fixture server after the suite if it was started. */
+  @AfterSuite(alwaysRun = true)
+  public void stopFixtureServer() {
+    FixtureServer.stop();
+  }
+
+  /** Report the infrastructure retries of the run when retries are enabled. */
+  @AfterSuite(alwaysRun = true)
+  public void reportRetries() {
+    RetryBudget retryBudget = RetryBudget.getInstance();
+    if (retryBudget.isEnabled()) {
+      logger.info("Infrastructure retries: {}", retryBudget);
+      TestEventWriter.getInstance().write("retrySummary", retryBudget.toMap());
+    }
+  }
+
+  /**
+   * Skip a test whose network profile the configured browser cannot emulate.
+   *
+   * <p>Skipped here rather than in {@link #setup}, because a skipped configuration method would
+   * skip the remaining tests of the class too.
+   *
+   * @param callBack callback running the test method
+   * @param testResult result of the test method
+   */
+  @Override
+  public void run(IHookCallBack callBack, ITestResult testResult) {
+    EmulateNetwork emulateNetwork =
+        getEmulateNetwork(testResult.getMethod().getConstructorOrMethod().getMethod());
+    if (emulateNetwork != null && !WebDriverManager.supportsNetworkEmulation()) {
+      throw new SkipException(
+          "Network profile " + emulateNetwork.value() + " requires Chrome or Edge");
+    }
+    callBack.runTestMethod(testResult);
+  }
+
+  /**
+   * Returns the @EmulateNetwork annotation of a test method, or else of its class.
+   *
+   * @param method test method
+   * @return annotation, or null when the test runs without emulation
+   */
+  private static EmulateNetwork getEmulateNetwork(Method method) {
+    EmulateNetwork emulateNetwork = method.getAnnotation(EmulateNetwork.class);
+    return emulateNetwork != null
+        ? emulateNetwork
+        : method.getDeclaringClass().getAnnotation(EmulateNetwork.class);
+  }
+
+  /**
+   * Returns the WebDriver of the test method running on the current thread.
+   *
+   * @return driver created by {@link #setup}, or null outside a test method
+   */
+  protected WebDriver getDriver() {
+    return driver.get();
+  }
+
   /**
  * Initialize the test environment before each TestNG method.
  *
  * Obtains a WebDriver instance from WebDriverManager, reads the application URL
  * from ReadProperties, logs the action, and navigates the browser to the URL.
  * This method is executed before every test method (@BeforeMethod).
+ *
+ * @param method the test method, whose class and name identify the session recording
+ *               in record/replay driver modes, and whose @EmulateNetwork annotation (or that
+ *               of its class) selects the network profile.
+ * @param parameters the data provider row of the test method, which also names the session;
+ *                   a Tenant parameter supplies the application URL.
  */
   @BeforeMethod
-  public void setup() {
-    driver = WebDriverManager.getDriver();
+  public void setup(Method method, Object[] parameters) {
+    EmulateNetwork emulateNetwork = getEmulateNetwork(method);
+    if (emulateNetwork != null && !WebDriverManager.supportsNetworkEmulation()) {
+      // No session: the test is skipped by run()
+      return;
+    }
+    String sessionName = method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    if (parameters.length > 0) {
+      sessionName +=
+          Arrays.stream(parameters).map(String::valueOf).collect(Collectors.joining(",", "[", "]"));
+    }
+    WebDriver webDriver =
+        WebDriverManager.getRecoverableDriver(
+            sessionName, emulateNetwork == null ? null : emulateNetwork.value());
+    driver.set(webDriver);
     String url = readProperties.getProperty("url");
+    for (Object parameter : parameters) {
+      if (parameter instanceof Tenant tenant) {
+        url = tenant.getUrl();
+      }
+    }
     logger.info("Launching application URL: {}", url);
-    driver.get(url);
+    long start = System.nanoTime();
+    webDriver.get(url);
+    SessionStartupProfile startupProfile = WebDriverManager.getStartupProfile(webDriver);
+    startupProfile.recordFirstNavigation((System.nanoTime() - start) / 1_000_000);
+    TestEventWriter.getInstance().write("sessionStartup", startupProfile.toMap());
+    RecoverableSession.checkpoint(webDriver);
   }
 
 
+  /**
+   * Save the page performance metrics collected by the test under {@code
+   * test-results/page-performance/<network profile>/<test>/<page>.json}.
+   *
+   * @param result the TestNG ITestResult of the test that collected the metrics
+   */
+  private void savePerformanceMetrics(ITestResult result) {
+    String testName =
+        result.getTestClass().getRealClass().getSimpleName()
+            + "."
+            + result.getMethod().getMethodName();
+    for (BasePage.CollectedMetrics metrics : BasePage.drainCollectedMetrics()) {
+      Path metricsFile =
+          Paths.get(
+              "test-results",
+              "page-performance",
+              metrics.networkProfile().getName(),
+              testName,
+              metrics.page() + ".json");
+      try {
+        Files.createDirectories(metricsFile.getParent());
+        Files.writeString(metricsFile, metrics.json(), StandardCharsets.UTF_8);
+      } catch (IOException e) {
+        logger.error("Failed to save performance metrics to {}", metricsFile, e);
+      }
+    }
+  }
+
   /**
  * Tear down the test environment after each TestNG method.
  *
@@ -66,6 +220,9 @@ public class BaseTest {
  */
   @AfterMethod
   public void teardown(ITestResult result) {
+    WebDriver driver = this.driver.get();
+    this.driver.remove();
+    savePerformanceMetrics(result);
 
     if (result.getStatus() != ITestResult.SUCCESS && driver != null) {
       String methodName = result.getMethod().getMethodName();
@@ -98,6 +255,23 @@ public class BaseTest {
       }
     }
 
+    RecoverableSession recoverableSession = RecoverableSession.of(driver);
+    if (recoverableSession != null && recoverableSession.getRetries() > 0) {
+      String summary =
+          String.format(
+              "%d steps rerun after infrastructure failures, %d sessions replaced,"
+                  + " ~%d ms of test rerun saved",
+              recoverableSession.getRetries(),
+              recoverableSession.getReplacedSessions(),
+              recoverableSession.getRecoveredMillis());
+      logger.warn("{}: {}", result.getMethod().getMethodName(), summary);
+      Allure.addAttachment("Infrastructure Retries", summary);
+      Map<String, Object> fields = new LinkedHashMap<>();
+      fields.put("test", result.getMethod().getQualifiedName());
+      fields.putAll(recoverableSession.toMap());
+      TestEventWriter.getInstance().write("stepRetries", fields);
+    }
+
     if (driver != null) {
       driver.quit();
     }
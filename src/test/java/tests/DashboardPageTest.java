@@ -1,10 +1,19 @@
 package tests;
 
+import base.EmulateNetwork;
+import base.NetworkProfile;
+import base.TabGroup;
+import io.qameta.allure.Allure;
+import java.util.Map;
+import org.openqa.selenium.WebDriver;
 import org.testng.Assert;
+import org.testng.SkipException;
 import org.testng.annotations.Test;
 import pages.ApplicationsPage;
 import pages.DashboardPage;
 import pages.LoginPage;
+import testUtils.Tenant;
+import testUtils.TenantDataProvider;
 
 /**
  * Test class for verifying functionalities on the Dashboard page.
@@ -17,17 +26,87 @@ public class DashboardPageTest extends BaseTest {
    */
   @Test
   public void testVerifyManagedApplicationsCountShownInDashboard() {
-    // Step 1: Login
+    verifyManagedApplicationsCount(
+        readProperties.getProperty("email"), readProperties.getProperty("password"), null);
+  }
+
+  /**
+   * Verifies the managed applications count of every tenant of {@code tenants.file}, tenants
+   * running concurrently in their own browser sessions. The dashboard count must match the
+   * Applications page and, when the tenant row defines one, the expected count.
+   *
+   * @param tenant tenant row, reported as the Allure {@code tenant} label and parameter
+   */
+  @Test(dataProvider = "tenants", dataProviderClass = TenantDataProvider.class)
+  public void testVerifyManagedApplicationsCountForTenant(Tenant tenant) {
+    Allure.label("tenant", tenant.getName());
+    verifyManagedApplicationsCount(
+        tenant.getEmail(),
+        tenant.getPassword(),
+        tenant.getExpectedCount("Managed Applications"));
+  }
+
+  /**
+   * Verifies the managed applications count on a slow mobile link with CPU throttling, so that
+   * waits and lazy loading of the Applications page are exercised under customer-like latency.
+   */
+  @Test
+  @EmulateNetwork(NetworkProfile.SLOW_4G)
+  public void testVerifyManagedApplicationsCountOnSlowNetwork() {
+    verifyManagedApplicationsCount(
+        readProperties.getProperty("email"), readProperties.getProperty("password"), null);
+  }
+
+  /**
+   * Verifies the managed applications count against the Applications page opened in a second tab
+   * of the same session, so the list loads while the dashboard count is read.
+   *
+   * <p>Requires {@code applications.path}, the path of the Applications page relative to {@code
+   * url}.
+   */
+  @Test
+  public void testVerifyManagedApplicationsCountInTabs() {
+    String key = "applications.path";
+    String applicationsPath = System.getProperty(key, readProperties.getProperty(key));
+    if (applicationsPath == null || applicationsPath.isEmpty()) {
+      throw new SkipException("Set applications.path to compare counts in tabs");
+    }
     String email = readProperties.getProperty("email");
-    String password = readProperties.getProperty("password");
+    new LoginPage(getDriver()).login(email, readProperties.getProperty("password"));
+    DashboardPage dashboardPage = new DashboardPage(getDriver());
+    Assert.assertTrue(dashboardPage.isUserLoggedInToDashboard(email), "User Login Failure");
+    dashboardPage.waitForDashboardToLoad();
+
+    try (TabGroup tabs = dashboardPage.openTabs(Map.of("applications", applicationsPath))) {
+      int countFromDashboard = dashboardPage.getCountTextOfCard("Managed Applications");
+      int countFromApplicationPage =
+          tabs.read(
+              "applications",
+              tab -> {
+                ApplicationsPage applicationsPage = new ApplicationsPage(tab);
+                applicationsPage.waitForApplicationsPageToLoad();
+                return applicationsPage.getApplicationsRowCount();
+              });
+      Assert.assertEquals(countFromApplicationPage, countFromDashboard, "Applications Count");
+    }
+  }
+
+  private void verifyManagedApplicationsCount(
+      String email, String password, Integer expectedCount) {
+    WebDriver driver = getDriver();
+    // Step 1: Login
     LoginPage loginPage = new LoginPage(driver);
     loginPage.login(email, password);
     DashboardPage dashboardPage = new DashboardPage(driver);
     Assert.assertTrue(dashboardPage.isUserLoggedInToDashboard(email), "User Login Failure");
+    dashboardPage.waitForDashboardToLoad();
 
     // Step 2: Get Application Count in Dashboard
     String cardTitle = "Managed Applications";
     int countFromDashboard = dashboardPage.getCountTextOfCard(cardTitle);
+    if (expectedCount != null) {
+      Assert.assertEquals(countFromDashboard, expectedCount.intValue(), "Expected Count");
+    }
 
     // Step 3: Navigate to Applications Menu
     dashboardPage.navigateToCardMenu(cardTitle);
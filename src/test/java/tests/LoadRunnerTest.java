@@ -0,0 +1,65 @@
+package tests;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import load.LoadReport;
+import load.LoadRunner;
+import org.testng.Assert;
+import org.testng.annotations.AfterClass;
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import testUtils.FixtureServer;
+
+/**
+ * Test class for the protocol-level load runner, run against the offline fixture server.
+ */
+public class LoadRunnerTest {
+
+  private URI stubUrl;
+  private boolean startedFixtureServer;
+
+  /**
+   * Starts the fixture server on a free port unless the suite already runs one.
+   *
+   * @throws IOException if the fixture server cannot be started
+   */
+  @BeforeClass
+  public void startStubServer() throws IOException {
+    startedFixtureServer = !FixtureServer.isRunning();
+    stubUrl = FixtureServer.start(URI.create("http://localhost:0/"));
+  }
+
+  /** Stops the fixture server if this class started it. */
+  @AfterClass(alwaysRun = true)
+  public void stopStubServer() {
+    if (startedFixtureServer) {
+      FixtureServer.stop();
+    }
+  }
+
+  /**
+   * Verifies that concurrent simulated users complete the login, dashboard and applications
+   * steps without errors and that throughput and latency percentiles are reported.
+   */
+  @Test
+  public void testLoadRunnerReportsThroughputAndLatencyAgainstStubServer()
+      throws InterruptedException {
+    LoadReport report =
+        LoadRunner.fromProperties()
+            .withBaseUrl(stubUrl)
+            .withUsers(50)
+            .withDuration(Duration.ofSeconds(2))
+            .withRampUp(Duration.ofMillis(500))
+            .run();
+
+    Assert.assertEquals(report.getTotalErrors(), 0, "Load Errors");
+    for (String step : new String[] {"login", "dashboard", "applications"}) {
+      Assert.assertTrue(report.getRequests(step) > 0, "Requests of " + step);
+      Assert.assertTrue(report.getThroughput(step) > 0, "Throughput of " + step);
+      Assert.assertTrue(
+          report.getLatencyMillis(step, 95) >= report.getLatencyMillis(step, 50),
+          "Latency percentiles of " + step);
+    }
+  }
+}
@@ -0,0 +1,70 @@
+package tests;
+
+import base.LocatorProfiler;
+import io.qameta.allure.Allure;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+import org.openqa.selenium.WebDriver;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+import pages.ApplicationsPage;
+import pages.DashboardPage;
+import pages.LoginPage;
+
+/**
+ * Profiles the in-browser cost of every page object locator on the login, dashboard and
+ * applications pages, and ranks them to prioritise rewrites.
+ *
+ * <p>Not part of the default suite. The ranking and the slow patterns found are written to {@code
+ * test-results/locator-profile.txt} and attached to Allure; {@code locatorProfile.samples} sets
+ * the number of timed samples per locator and page (default 30).
+ *
+ * <pre>
+ *   mvn test -Denv=local -Dtest=LocatorProfileTest
+ * </pre>
+ */
+public class LocatorProfileTest extends BaseTest {
+
+  /**
+   * Times the page object locators on each page of the login to applications flow.
+   *
+   * @throws IOException if the page objects cannot be listed or the report cannot be written
+   */
+  @Test
+  public void testProfilePageObjectLocators() throws IOException {
+    WebDriver driver = getDriver();
+    String email = readProperties.getProperty("email");
+    String key = "locatorProfile.samples";
+    String configuredSamples = System.getProperty(key, readProperties.getProperty(key));
+    int samples = configuredSamples == null ? 30 : Integer.parseInt(configuredSamples);
+    Map<String, Object[]> sampleValues =
+        Map.of(
+            "DashboardPage.cardTitleLocator", new Object[] {"Managed Applications"},
+            "DashboardPage.cardCountText", new Object[] {"Managed Applications"},
+            "DashboardPage.profileUsername", new Object[] {email},
+            "SideNavMenu.sideNavMenu", new Object[] {"Applications"});
+    LocatorProfiler profiler = new LocatorProfiler(driver, "pages", sampleValues, samples);
+
+    profiler.profile("Login");
+    new LoginPage(driver).login(email, readProperties.getProperty("password"));
+    DashboardPage dashboardPage = new DashboardPage(driver);
+    Assert.assertTrue(dashboardPage.isUserLoggedInToDashboard(email), "User Login Failure");
+    dashboardPage.waitForDashboardToLoad();
+    profiler.profile("Dashboard");
+    dashboardPage.navigateToCardMenu("Managed Applications");
+    ApplicationsPage applicationsPage = new ApplicationsPage(driver);
+    applicationsPage.waitForApplicationsPageToLoad();
+    profiler.profile("Applications");
+
+    String report = profiler.getReport();
+    logger.info("Locator profile:\n{}", report);
+    Path reportFile = Paths.get("test-results", "locator-profile.txt");
+    Files.createDirectories(reportFile.getParent());
+    Files.writeString(reportFile, report, StandardCharsets.UTF_8);
+    Allure.addAttachment("Locator Profile", report);
+  }
+}
@@ -23,9 +23,10 @@ public class LoginPageTest extends BaseTest {
   public void testShouldAbleToLoginWithValidCredentials() {
     String email = readProperties.getProperty("email");
     String password = readProperties.getProperty("password");
-    LoginPage loginPage = new LoginPage(driver);
+    LoginPage loginPage = new LoginPage(getDriver());
     loginPage.login(email, password);
-    DashboardPage dashboardPage = new DashboardPage(driver);
+    DashboardPage dashboardPage = new DashboardPage(getDriver());
     Assert.assertTrue(dashboardPage.isUserLoggedInToDashboard(email), "User Login Failure");
+    dashboardPage.waitForDashboardToLoad();
   }
 }
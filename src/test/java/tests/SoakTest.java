@@ -0,0 +1,138 @@
+package tests;
+
+import base.BrowserMemoryMonitor;
+import base.TrendLine;
+import io.qameta.allure.Allure;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.testng.Assert;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+import pages.ApplicationsPage;
+import pages.DashboardPage;
+import pages.LoginPage;
+import pages.SideNavMenu;
+
+/**
+ * Soak test repeating the dashboard and applications flow in one browser session to detect memory
+ * leaks of the application.
+ *
+ * <p>Disabled unless {@code soak.durationInMinutes} is set. Every {@code
+ * soak.sampleIntervalSeconds} the JS heap, DOM node and event listener counts are sampled to
+ * {@code test-results/soak/memory-samples.csv}; the test fails when the fitted growth of a metric
+ * exceeds its limit:
+ *
+ * <pre>
+ *   soak.durationInMinutes = 480
+ *   soak.sampleIntervalSeconds = 30
+ *   soak.collectGarbage = true
+ *   soak.maxHeapGrowthMbPerHour = 20
+ *   soak.maxNodeGrowthPerHour = 2000
+ *   soak.maxListenerGrowthPerHour = 500
+ * </pre>
+ */
+public class SoakTest extends BaseTest {
+
+  /** Fewest samples needed before a trend is judged */
+  private static final int MIN_SAMPLES = 10;
+
+  /**
+   * Repeats dashboard, side navigation and applications table paging for the soak duration and
+   * verifies the browser memory metrics do not grow faster than the configured limits.
+   *
+   * @throws IOException if the memory samples cannot be written
+   */
+  @Test
+  public void testBrowserMemoryIsStableDuringSoak() throws IOException {
+    long durationInMinutes = Long.parseLong(getSetting("soak.durationInMinutes", "0"));
+    if (durationInMinutes <= 0) {
+      throw new SkipException("Soak mode is disabled, set soak.durationInMinutes to enable it");
+    }
+    Duration sampleInterval =
+        Duration.ofSeconds(Long.parseLong(getSetting("soak.sampleIntervalSeconds", "30")));
+    boolean collectGarbage = Boolean.parseBoolean(getSetting("soak.collectGarbage", "true"));
+
+    String email = readProperties.getProperty("email");
+    new LoginPage(getDriver()).login(email, readProperties.getProperty("password"));
+    DashboardPage dashboardPage = new DashboardPage(getDriver());
+    Assert.assertTrue(dashboardPage.isUserLoggedInToDashboard(email), "User Login Failure");
+    dashboardPage.waitForDashboardToLoad();
+    SideNavMenu sideNavMenu = new SideNavMenu(getDriver());
+    ApplicationsPage applicationsPage = new ApplicationsPage(getDriver());
+    // Per-page metrics would add an attachment per iteration; the soak samples memory instead
+    applicationsPage.setPerformanceMetricsEnabled(false);
+
+    Path sampleFile = Paths.get("test-results", "soak", "memory-samples.csv");
+    long deadline = System.nanoTime() + Duration.ofMinutes(durationInMinutes).toNanos();
+    long iterations = 0;
+    try (BrowserMemoryMonitor monitor =
+        new BrowserMemoryMonitor(getDriver(), sampleFile, collectGarbage)) {
+      monitor.sample();
+      long nextSample = System.nanoTime() + sampleInterval.toNanos();
+      while (System.nanoTime() < deadline) {
+        sideNavMenu.navigateToMenuFromSideNav("Applications");
+        applicationsPage.waitForApplicationsPageToLoad();
+        applicationsPage.getApplicationsRowCount();
+        sideNavMenu.navigateToMenuFromSideNav("Dashboard");
+        dashboardPage.isUserLoggedInToDashboard(email);
+        iterations++;
+        // Steps of finished iterations would otherwise grow the Allure result without bound
+        Allure.getLifecycle().updateTestCase(result -> result.getSteps().clear());
+        if (System.nanoTime() >= nextSample) {
+          Map<String, Double> sample = monitor.sample();
+          logger.info("Soak iteration {}: {}", iterations, sample);
+          nextSample = System.nanoTime() + sampleInterval.toNanos();
+        }
+      }
+      monitor.sample();
+      verifyNoLeak(monitor, iterations);
+    }
+  }
+
+  private void verifyNoLeak(BrowserMemoryMonitor monitor, long iterations) {
+    Map<String, Double> limitsPerHour =
+        Map.of(
+            "JSHeapUsedSize",
+            Double.parseDouble(getSetting("soak.maxHeapGrowthMbPerHour", "20")) * 1024 * 1024,
+            "Nodes",
+            Double.parseDouble(getSetting("soak.maxNodeGrowthPerHour", "2000")),
+            "JSEventListeners",
+            Double.parseDouble(getSetting("soak.maxListenerGrowthPerHour", "500")));
+    StringBuilder summary =
+        new StringBuilder(
+            String.format(
+                "%d iterations, %d samples%n", iterations, monitor.getSampleCount()));
+    List<String> leaks = new ArrayList<>();
+    for (String metric : BrowserMemoryMonitor.METRICS) {
+      TrendLine trend = monitor.getTrend(metric);
+      double slopePerHour = monitor.getSlopePerHour(metric);
+      Double limit = limitsPerHour.get(metric);
+      summary.append(
+          String.format(
+              Locale.ROOT,
+              "%-17s %+14.0f per hour (R2 %.2f)%s%n",
+              metric,
+              slopePerHour,
+              trend.getRSquared(),
+              limit == null ? "" : String.format(Locale.ROOT, ", limit %.0f", limit)));
+      if (limit != null && trend.getCount() >= MIN_SAMPLES && slopePerHour > limit) {
+        leaks.add(metric);
+      }
+    }
+    logger.info("Soak memory trends:\n{}", summary);
+    Allure.addAttachment("Soak Memory Trends", summary.toString());
+    Assert.assertTrue(
+        leaks.isEmpty(), "Browser memory grows during soak: " + leaks + "\n" + summary);
+  }
+
+  private String getSetting(String key, String defaultValue) {
+    String value = System.getProperty(key, readProperties.getProperty(key));
+    return value == null || value.isEmpty() ? defaultValue : value;
+  }
+}
@@ -0,0 +1,25 @@
+var fixtureApp = {
+  config: {renderLatencyMillis: ${renderLatencyMillis}},
+
+  fetchJson: function (path) {
+    return fetch(path).then(function (response) {
+      if (response.status === 401) {
+        window.location.href = '/';
+        throw new Error('Not logged in');
+      }
+      return response.json();
+    });
+  },
+
+  loadUser: function () {
+    document.querySelectorAll('.apphome_menuWrapper').forEach(function (menu) {
+      menu.addEventListener('click', function () {
+        window.location.href = menu.getAttribute('data-target');
+      });
+    });
+    return fixtureApp.fetchJson('/api/dashboard/cards').then(function (data) {
+      document.querySelector('.userName').textContent = data.user;
+      return data;
+    });
+  }
+};